@@ -26,6 +26,7 @@ import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.parsing.TokenHandler;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.scripting.xmltags.ForEachSqlNode;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
 
@@ -43,12 +44,32 @@ public class SqlSourceBuilder extends BaseBuilder {
   }
 
   public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters) {
+    return parse(originalSql, parameterType, additionalParameters, configuration.isShrinkWhitespacesInSql());
+  }
+
+  /**
+   * Parses the sql, shrinking its whitespace only when asked to. Callers that assembled the sql with whitespace
+   * already shrunk pass {@code false} to skip scanning it again.
+   *
+   * @param originalSql
+   *          the sql to parse
+   * @param parameterType
+   *          the parameter type
+   * @param additionalParameters
+   *          the additional parameters
+   * @param shrinkWhitespaces
+   *          whether to remove extra whitespaces from the sql
+   * @return the static sql source
+   * @see #removeExtraWhitespaces(String)
+   */
+  public StaticSqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters,
+      boolean shrinkWhitespaces) {
     ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, parameterType, additionalParameters);
     // 创建通用标记解析器对象,通过ParameterMappingTokenHandler将#{}占位符替换为正确的字符串.
     GenericTokenParser parser = new GenericTokenParser("#{", "}", handler);
     String sql;
     // 根据全局配置来选择是否删除sql文本中的\r\n\t,空格等转义符.
-    if (configuration.isShrinkWhitespacesInSql()) {
+    if (shrinkWhitespaces) {
       sql = parser.parse(removeExtraWhitespaces(originalSql));
     } else {
       sql = parser.parse(originalSql);
@@ -56,6 +77,22 @@ public class SqlSourceBuilder extends BaseBuilder {
     return new StaticSqlSource(configuration, sql, handler.getParameterMappings());
   }
 
+  /**
+   * Builds the parameter mapping of a single {@code #{}} placeholder the same way {@link #parse(String, Class, Map)}
+   * does for each placeholder of the sql.
+   *
+   * @param content
+   *          the content of the placeholder, e.g. {@code id,jdbcType=INTEGER}
+   * @param parameterType
+   *          the parameter type
+   * @param additionalParameters
+   *          the additional parameters
+   * @return the parameter mapping
+   */
+  public ParameterMapping buildParameterMapping(String content, Class<?> parameterType, Map<String, Object> additionalParameters) {
+    return new ParameterMappingTokenHandler(configuration, parameterType, additionalParameters).buildParameterMapping(content);
+  }
+
   public static String removeExtraWhitespaces(String original) {
     StringTokenizer tokenizer = new StringTokenizer(original);
     StringBuilder builder = new StringBuilder();
@@ -79,11 +116,14 @@ public class SqlSourceBuilder extends BaseBuilder {
     private Class<?> parameterType;
     // DynamicContext.bindings集合对应的MetaObject对象.
     private MetaObject metaParameters;
+    // DynamicContext.bindings集合.
+    private Map<String, Object> additionalParameters;
 
     public ParameterMappingTokenHandler(Configuration configuration, Class<?> parameterType, Map<String, Object> additionalParameters) {
       super(configuration);
       this.parameterType = parameterType;
       this.metaParameters = configuration.newMetaObject(additionalParameters);
+      this.additionalParameters = additionalParameters;
     }
 
     public List<ParameterMapping> getParameterMappings() {
@@ -105,8 +145,12 @@ public class SqlSourceBuilder extends BaseBuilder {
       // 获取sql参数名称.
       String property = propertiesMap.get("property");
       Class<?> propertyType;
+      Class<?> positionalItemType = ForEachSqlNode.getPositionalItemType(additionalParameters, property);
       // 确定参数的javaType属性.
-      if (metaParameters.hasGetter(property)) { // issue #448 get type from additional params
+      if (positionalItemType != null) {
+        // foreach按下标绑定的元素,类型由元素的值决定.
+        propertyType = positionalItemType;
+      } else if (metaParameters.hasGetter(property)) { // issue #448 get type from additional params
         propertyType = metaParameters.getGetterType(property);
       } else if (typeHandlerRegistry.hasTypeHandler(parameterType)) {
         propertyType = parameterType;
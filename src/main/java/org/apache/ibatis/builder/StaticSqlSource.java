@@ -16,6 +16,7 @@
 package org.apache.ibatis.builder;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.ParameterMapping;
@@ -49,4 +50,18 @@ public class StaticSqlSource implements SqlSource {
     return new BoundSql(configuration, sql, parameterMappings, parameterObject);
   }
 
+  /**
+   * Gets the bound sql using the given map as its additional parameters, without copying it.
+   *
+   * @param parameterObject
+   *          the parameter object
+   * @param additionalParameters
+   *          the additional parameters
+   * @return the bound sql
+   * @since 3.5.7
+   */
+  public BoundSql getBoundSql(Object parameterObject, Map<String, Object> additionalParameters) {
+    return new BoundSql(configuration, sql, parameterMappings, parameterObject, additionalParameters);
+  }
+
 }
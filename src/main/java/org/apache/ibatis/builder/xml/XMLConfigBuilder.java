@@ -39,6 +39,7 @@ import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
+import org.apache.ibatis.scripting.xmltags.OgnlExpressionCache;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
 import org.apache.ibatis.session.Configuration;
@@ -334,6 +335,16 @@ public class XMLConfigBuilder extends BaseBuilder {
     configuration.setConfigurationFactory(resolveClass(props.getProperty("configurationFactory")));
     configuration.setShrinkWhitespacesInSql(booleanValueOf(props.getProperty("shrinkWhitespacesInSql"), false));
     configuration.setDefaultSqlProviderType(resolveClass(props.getProperty("defaultSqlProviderType")));
+    configuration.setUseCompactMapResults(booleanValueOf(props.getProperty("useCompactMapResults"), false));
+    configuration.setAdaptiveFetchSizeEnabled(booleanValueOf(props.getProperty("adaptiveFetchSizeEnabled"), false));
+    configuration.setAdaptiveFetchSizeMin(integerValueOf(props.getProperty("adaptiveFetchSizeMin"), 10));
+    configuration.setAdaptiveFetchSizeMax(integerValueOf(props.getProperty("adaptiveFetchSizeMax"), 1000));
+    configuration.setAdaptiveFetchSizeMaxColumnValues(integerValueOf(props.getProperty("adaptiveFetchSizeMaxColumnValues"), 100000));
+    configuration.setDynamicSqlTemplateCacheEnabled(booleanValueOf(props.getProperty("dynamicSqlTemplateCacheEnabled"), false));
+    configuration.setOgnlExpressionCacheSize(integerValueOf(props.getProperty("ognlExpressionCacheSize"), OgnlExpressionCache.DEFAULT_MAX_SIZE));
+    configuration.setForeachPositionalBindingEnabled(booleanValueOf(props.getProperty("foreachPositionalBindingEnabled"), false));
+    configuration.setForeachInListPaddingEnabled(booleanValueOf(props.getProperty("foreachInListPaddingEnabled"), false));
+    configuration.setImmutableResultMappingEnabled(booleanValueOf(props.getProperty("immutableResultMappingEnabled"), false));
   }
 
   private void environmentsElement(XNode context) throws Exception {
@@ -0,0 +1,535 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.result;
+
+import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * Column oriented container for the rows of a flat result set.
+ * <p>
+ * Instead of creating one object per row, the values of every column are copied straight from the
+ * {@link ResultSet} into primitive arrays ({@code int}, {@code long}, {@code double}). Character columns
+ * are dictionary encoded: each distinct value is stored once and rows only keep its {@code int} code.
+ * Storage grows in fixed size chunks, so existing values are never copied while rows are appended.
+ * <p>
+ * Type handlers are not applied; values are read with the plain JDBC getters chosen by the column type.
+ *
+ * @see ColumnarResultHandler
+ */
+public class ColumnarResult implements Serializable {
+
+  private static final long serialVersionUID = -5297125381640853715L;
+
+  static final int CHUNK_SHIFT = 12;
+  static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  public enum ColumnType {
+    INT, LONG, DOUBLE, STRING, OBJECT
+  }
+
+  private final List<String> columnNames;
+  private final Column[] columns;
+  private int rowCount;
+
+  public ColumnarResult(List<String> columnNames, List<JdbcType> jdbcTypes) {
+    this.columnNames = Collections.unmodifiableList(new ArrayList<>(columnNames));
+    this.columns = new Column[columnNames.size()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = createColumn(columnNames.get(i), resolveColumnType(jdbcTypes.get(i)));
+    }
+  }
+
+  public static ColumnType resolveColumnType(JdbcType jdbcType) {
+    if (jdbcType == null) {
+      return ColumnType.OBJECT;
+    }
+    switch (jdbcType) {
+      case TINYINT:
+      case SMALLINT:
+      case INTEGER:
+        return ColumnType.INT;
+      case BIGINT:
+        return ColumnType.LONG;
+      case REAL:
+      case FLOAT:
+      case DOUBLE:
+        return ColumnType.DOUBLE;
+      case CHAR:
+      case VARCHAR:
+      case LONGVARCHAR:
+      case NCHAR:
+      case NVARCHAR:
+      case LONGNVARCHAR:
+        return ColumnType.STRING;
+      default:
+        return ColumnType.OBJECT;
+    }
+  }
+
+  private static Column createColumn(String name, ColumnType type) {
+    switch (type) {
+      case INT:
+        return new IntColumn(name);
+      case LONG:
+        return new LongColumn(name);
+      case DOUBLE:
+        return new DoubleColumn(name);
+      case STRING:
+        return new StringColumn(name);
+      default:
+        return new ObjectColumn(name);
+    }
+  }
+
+  /**
+   * Appends the current row of the result set.
+   *
+   * @param rs
+   *          a result set positioned on the row to read
+   * @throws SQLException
+   *           if a column cannot be read
+   */
+  public void addRow(ResultSet rs) throws SQLException {
+    for (int i = 0; i < columns.length; i++) {
+      columns[i].read(rs, i + 1, rowCount);
+    }
+    rowCount++;
+  }
+
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  public List<String> getColumnNames() {
+    return columnNames;
+  }
+
+  public int getColumnIndex(String columnName) {
+    for (int i = 0; i < columns.length; i++) {
+      if (columns[i].name.equalsIgnoreCase(columnName)) {
+        return i;
+      }
+    }
+    throw new ResultMapException("There is no column named '" + columnName + "' in " + columnNames);
+  }
+
+  public ColumnType getColumnType(int column) {
+    return columns[column].type;
+  }
+
+  public boolean isNull(int column, int row) {
+    checkRow(row);
+    return columns[column].nulls.get(row);
+  }
+
+  public int getInt(int column, int row) {
+    checkRow(row);
+    return columns[column].getInt(row);
+  }
+
+  public long getLong(int column, int row) {
+    checkRow(row);
+    return columns[column].getLong(row);
+  }
+
+  public double getDouble(int column, int row) {
+    checkRow(row);
+    return columns[column].getDouble(row);
+  }
+
+  public String getString(int column, int row) {
+    checkRow(row);
+    Object value = columns[column].getObject(row);
+    return value == null ? null : value.toString();
+  }
+
+  public Object getObject(int column, int row) {
+    checkRow(row);
+    return columns[column].getObject(row);
+  }
+
+  public int[] getIntColumn(int column) {
+    int[] values = new int[rowCount];
+    Column col = columns[column];
+    for (int row = 0; row < rowCount; row++) {
+      values[row] = col.getInt(row);
+    }
+    return values;
+  }
+
+  public long[] getLongColumn(int column) {
+    long[] values = new long[rowCount];
+    Column col = columns[column];
+    for (int row = 0; row < rowCount; row++) {
+      values[row] = col.getLong(row);
+    }
+    return values;
+  }
+
+  public double[] getDoubleColumn(int column) {
+    double[] values = new double[rowCount];
+    Column col = columns[column];
+    for (int row = 0; row < rowCount; row++) {
+      values[row] = col.getDouble(row);
+    }
+    return values;
+  }
+
+  /**
+   * Returns the dictionary codes of a {@link ColumnType#STRING} column, {@code -1} marks a null value.
+   *
+   * @param column
+   *          the column index
+   * @return one code per row, indexing into {@link #getDictionary(int)}
+   */
+  public int[] getStringCodes(int column) {
+    return stringColumn(column).codes.toArray(rowCount);
+  }
+
+  public List<String> getDictionary(int column) {
+    return Collections.unmodifiableList(stringColumn(column).dictionary);
+  }
+
+  private StringColumn stringColumn(int column) {
+    Column col = columns[column];
+    if (!(col instanceof StringColumn)) {
+      throw new ResultMapException("Column '" + col.name + "' of type " + col.type + " is not dictionary encoded.");
+    }
+    return (StringColumn) col;
+  }
+
+  private void checkRow(int row) {
+    if (row < 0 || row >= rowCount) {
+      throw new IndexOutOfBoundsException("Row " + row + " is out of range [0, " + rowCount + ").");
+    }
+  }
+
+  private abstract static class Column implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    final String name;
+    final ColumnType type;
+    final BitSet nulls = new BitSet();
+
+    Column(String name, ColumnType type) {
+      this.name = name;
+      this.type = type;
+    }
+
+    abstract void read(ResultSet rs, int columnIndex, int row) throws SQLException;
+
+    abstract Object getObject(int row);
+
+    int getInt(int row) {
+      throw unsupported("int");
+    }
+
+    long getLong(int row) {
+      throw unsupported("long");
+    }
+
+    double getDouble(int row) {
+      throw unsupported("double");
+    }
+
+    private ResultMapException unsupported(String target) {
+      return new ResultMapException("Column '" + name + "' of type " + type + " cannot be read as " + target + ".");
+    }
+  }
+
+  /**
+   * Chunk table shared by the primitive and object storages, {@code A} is the array type of one chunk.
+   */
+  private abstract static class Chunks<A> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Object[] chunks = new Object[1];
+
+    abstract A newChunk();
+
+    // 返回写入row所在的块,必要时扩充块表并创建新块.
+    @SuppressWarnings("unchecked")
+    final A chunkForWrite(int row) {
+      int chunk = row >>> CHUNK_SHIFT;
+      if (chunk == chunks.length) {
+        chunks = Arrays.copyOf(chunks, chunks.length << 1);
+      }
+      if (chunks[chunk] == null) {
+        chunks[chunk] = newChunk();
+      }
+      return (A) chunks[chunk];
+    }
+
+    @SuppressWarnings("unchecked")
+    final A chunk(int row) {
+      return (A) chunks[row >>> CHUNK_SHIFT];
+    }
+
+    final A toArray(A values, int length) {
+      for (int offset = 0, chunk = 0; offset < length; offset += CHUNK_SIZE, chunk++) {
+        System.arraycopy(chunks[chunk], 0, values, offset, Math.min(CHUNK_SIZE, length - offset));
+      }
+      return values;
+    }
+  }
+
+  private static final class IntChunks extends Chunks<int[]> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    int[] newChunk() {
+      return new int[CHUNK_SIZE];
+    }
+
+    void set(int row, int value) {
+      chunkForWrite(row)[row & CHUNK_MASK] = value;
+    }
+
+    int get(int row) {
+      return chunk(row)[row & CHUNK_MASK];
+    }
+
+    int[] toArray(int length) {
+      return toArray(new int[length], length);
+    }
+  }
+
+  private static final class LongChunks extends Chunks<long[]> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    long[] newChunk() {
+      return new long[CHUNK_SIZE];
+    }
+
+    void set(int row, long value) {
+      chunkForWrite(row)[row & CHUNK_MASK] = value;
+    }
+
+    long get(int row) {
+      return chunk(row)[row & CHUNK_MASK];
+    }
+  }
+
+  private static final class DoubleChunks extends Chunks<double[]> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    double[] newChunk() {
+      return new double[CHUNK_SIZE];
+    }
+
+    void set(int row, double value) {
+      chunkForWrite(row)[row & CHUNK_MASK] = value;
+    }
+
+    double get(int row) {
+      return chunk(row)[row & CHUNK_MASK];
+    }
+  }
+
+  private static final class ObjectChunks extends Chunks<Object[]> {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    Object[] newChunk() {
+      return new Object[CHUNK_SIZE];
+    }
+
+    void set(int row, Object value) {
+      chunkForWrite(row)[row & CHUNK_MASK] = value;
+    }
+
+    Object get(int row) {
+      return chunk(row)[row & CHUNK_MASK];
+    }
+  }
+
+  private static final class IntColumn extends Column {
+    private static final long serialVersionUID = 1L;
+
+    private final IntChunks values = new IntChunks();
+
+    IntColumn(String name) {
+      super(name, ColumnType.INT);
+    }
+
+    @Override
+    void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+      values.set(row, rs.getInt(columnIndex));
+      if (rs.wasNull()) {
+        nulls.set(row);
+      }
+    }
+
+    @Override
+    Object getObject(int row) {
+      return nulls.get(row) ? null : values.get(row);
+    }
+
+    @Override
+    int getInt(int row) {
+      return values.get(row);
+    }
+
+    @Override
+    long getLong(int row) {
+      return values.get(row);
+    }
+
+    @Override
+    double getDouble(int row) {
+      return values.get(row);
+    }
+  }
+
+  private static final class LongColumn extends Column {
+    private static final long serialVersionUID = 1L;
+
+    private final LongChunks values = new LongChunks();
+
+    LongColumn(String name) {
+      super(name, ColumnType.LONG);
+    }
+
+    @Override
+    void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+      values.set(row, rs.getLong(columnIndex));
+      if (rs.wasNull()) {
+        nulls.set(row);
+      }
+    }
+
+    @Override
+    Object getObject(int row) {
+      return nulls.get(row) ? null : getLong(row);
+    }
+
+    @Override
+    long getLong(int row) {
+      return values.get(row);
+    }
+
+    @Override
+    double getDouble(int row) {
+      return getLong(row);
+    }
+  }
+
+  private static final class DoubleColumn extends Column {
+    private static final long serialVersionUID = 1L;
+
+    private final DoubleChunks values = new DoubleChunks();
+
+    DoubleColumn(String name) {
+      super(name, ColumnType.DOUBLE);
+    }
+
+    @Override
+    void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+      values.set(row, rs.getDouble(columnIndex));
+      if (rs.wasNull()) {
+        nulls.set(row);
+      }
+    }
+
+    @Override
+    Object getObject(int row) {
+      return nulls.get(row) ? null : getDouble(row);
+    }
+
+    @Override
+    double getDouble(int row) {
+      return values.get(row);
+    }
+  }
+
+  private static final class StringColumn extends Column {
+    private static final long serialVersionUID = 1L;
+
+    private final IntChunks codes = new IntChunks();
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+    StringColumn(String name) {
+      super(name, ColumnType.STRING);
+    }
+
+    @Override
+    void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+      String value = rs.getString(columnIndex);
+      if (value == null) {
+        codes.set(row, -1);
+        nulls.set(row);
+        return;
+      }
+      Integer code = dictionaryIndex.get(value);
+      if (code == null) {
+        code = dictionary.size();
+        dictionary.add(value);
+        dictionaryIndex.put(value, code);
+      }
+      codes.set(row, code);
+    }
+
+    @Override
+    Object getObject(int row) {
+      int code = codes.get(row);
+      return code < 0 ? null : dictionary.get(code);
+    }
+  }
+
+  private static final class ObjectColumn extends Column {
+    private static final long serialVersionUID = 1L;
+
+    private final ObjectChunks values = new ObjectChunks();
+
+    ObjectColumn(String name) {
+      super(name, ColumnType.OBJECT);
+    }
+
+    @Override
+    void read(ResultSet rs, int columnIndex, int row) throws SQLException {
+      Object value = rs.getObject(columnIndex);
+      values.set(row, value);
+      if (value == null) {
+        nulls.set(row);
+      }
+    }
+
+    @Override
+    Object getObject(int row) {
+      return values.get(row);
+    }
+  }
+
+}
@@ -0,0 +1,62 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.result;
+
+import java.util.List;
+
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.type.JdbcType;
+
+/**
+ * Result handler that collects rows into a {@link ColumnarResult}.
+ * <p>
+ * The result set handler recognizes this handler and copies the columns directly from the result set,
+ * so no row objects are created. It can only be used with flat result maps.
+ *
+ * @see ColumnarResult
+ */
+public class ColumnarResultHandler implements ResultHandler<Object> {
+
+  private ColumnarResult result;
+
+  @Override
+  public void handleResult(ResultContext<?> context) {
+    throw new ExecutorException("ColumnarResultHandler does not accept mapped objects. "
+        + "It can only be filled from a result set by the result set handler.");
+  }
+
+  public ColumnarResult prepare(List<String> columnNames, List<JdbcType> jdbcTypes) {
+    if (result == null) {
+      result = new ColumnarResult(columnNames, jdbcTypes);
+    } else if (!result.getColumnNames().equals(columnNames)) {
+      throw new ExecutorException("Cannot append columns " + columnNames + " to a columnar result with columns "
+          + result.getColumnNames() + ".");
+    }
+    return result;
+  }
+
+  /**
+   * Returns the collected result.
+   *
+   * @return the columnar result, or {@code null} when no result set has been handled
+   */
+  public ColumnarResult getResult() {
+    return result;
+  }
+
+}
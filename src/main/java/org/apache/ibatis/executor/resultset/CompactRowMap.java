@@ -0,0 +1,305 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Compact {@link Map} used for rows of {@code resultType="map"} statements.
+ * <p>
+ * All rows read from the same result set share one {@link Keys} instance, so a row only holds its values in a
+ * plain array. Existing keys can be updated or removed in place. Adding a key the result set does not have copies
+ * the row into a {@link LinkedHashMap} which is used from then on.
+ *
+ * @see org.apache.ibatis.session.Configuration#isUseCompactMapResults()
+ */
+public final class CompactRowMap extends AbstractMap<String, Object> implements Serializable {
+
+  private static final long serialVersionUID = 6403745582016359283L;
+
+  private static final Object ABSENT = new Object();
+
+  private final Keys keys;
+  private Object[] values;
+  private int size;
+  private Map<String, Object> copy;
+
+  CompactRowMap(Keys keys) {
+    this.keys = keys;
+    this.values = new Object[keys.names.length];
+    Arrays.fill(values, ABSENT);
+  }
+
+  void set(int slot, Object value) {
+    if (values[slot] == ABSENT) {
+      size++;
+    }
+    values[slot] = value;
+  }
+
+  @Override
+  public int size() {
+    return copy != null ? copy.size() : size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (copy != null) {
+      return copy.containsKey(key);
+    }
+    Integer slot = keys.index.get(key);
+    return slot != null && values[slot] != ABSENT;
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (copy != null) {
+      return copy.get(key);
+    }
+    Integer slot = keys.index.get(key);
+    if (slot == null) {
+      return null;
+    }
+    Object value = values[slot];
+    return value == ABSENT ? null : value;
+  }
+
+  @Override
+  public Object put(String key, Object value) {
+    if (copy == null) {
+      Integer slot = keys.index.get(key);
+      if (slot != null) {
+        Object previous = values[slot];
+        set(slot, value);
+        return previous == ABSENT ? null : previous;
+      }
+      copyOnWrite();
+    }
+    return copy.put(key, value);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    if (copy != null) {
+      return copy.remove(key);
+    }
+    Integer slot = keys.index.get(key);
+    if (slot == null || values[slot] == ABSENT) {
+      return null;
+    }
+    Object previous = values[slot];
+    values[slot] = ABSENT;
+    size--;
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    if (copy != null) {
+      copy.clear();
+    } else {
+      Arrays.fill(values, ABSENT);
+      size = 0;
+    }
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+    if (copy != null) {
+      copy.replaceAll(function);
+      return;
+    }
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != ABSENT) {
+        values[slot] = function.apply(keys.names[slot], values[slot]);
+      }
+    }
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return copy != null ? copy.entrySet() : new EntrySet();
+  }
+
+  private void copyOnWrite() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int slot = 0; slot < values.length; slot++) {
+      if (values[slot] != ABSENT) {
+        map.put(keys.names[slot], values[slot]);
+      }
+    }
+    copy = map;
+    values = null;
+  }
+
+  private Object writeReplace() {
+    return new LinkedHashMap<>(this);
+  }
+
+  private class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+    @Override
+    public int size() {
+      return CompactRowMap.this.size();
+    }
+
+    @Override
+    public Iterator<Entry<String, Object>> iterator() {
+      if (copy != null) {
+        return copy.entrySet().iterator();
+      }
+      return new Iterator<Entry<String, Object>>() {
+        private int next = nextSlot(0);
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+          return next < values.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          last = next;
+          next = nextSlot(next + 1);
+          return new SlotEntry(last);
+        }
+
+        @Override
+        public void remove() {
+          if (last < 0 || values[last] == ABSENT) {
+            throw new IllegalStateException();
+          }
+          values[last] = ABSENT;
+          size--;
+        }
+
+        private int nextSlot(int from) {
+          int slot = from;
+          while (slot < values.length && values[slot] == ABSENT) {
+            slot++;
+          }
+          return slot;
+        }
+      };
+    }
+  }
+
+  private class SlotEntry implements Entry<String, Object> {
+    private final int slot;
+
+    SlotEntry(int slot) {
+      this.slot = slot;
+    }
+
+    @Override
+    public String getKey() {
+      return keys.names[slot];
+    }
+
+    @Override
+    public Object getValue() {
+      return values[slot] == ABSENT ? null : values[slot];
+    }
+
+    @Override
+    public Object setValue(Object value) {
+      Object previous = getValue();
+      set(slot, value);
+      return previous;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      Entry<?, ?> e = (Entry<?, ?>) o;
+      return getKey().equals(e.getKey()) && (getValue() == null ? e.getValue() == null : getValue().equals(e.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      Object value = getValue();
+      return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+
+  /**
+   * Key layout shared by all rows of a result set.
+   */
+  public static final class Keys implements Serializable {
+    private static final long serialVersionUID = -2460745135262839471L;
+
+    private final String[] names;
+    private final Map<String, Integer> index = new HashMap<>();
+    private final int[] slots;
+    private final boolean flat;
+
+    /**
+     * @param columnKeys
+     *          the key of every mapped column, in column order. Repeated keys share one slot.
+     */
+    Keys(List<String> columnKeys) {
+      this.slots = new int[columnKeys.size()];
+      boolean flatKeys = true;
+      for (int i = 0; i < slots.length; i++) {
+        String key = columnKeys.get(i);
+        flatKeys = flatKeys && key.indexOf('.') < 0 && key.indexOf('[') < 0;
+        Integer slot = index.get(key);
+        if (slot == null) {
+          slot = index.size();
+          index.put(key, slot);
+        }
+        slots[i] = slot;
+      }
+      this.names = new String[index.size()];
+      index.forEach((key, slot) -> names[slot] = key);
+      this.flat = flatKeys;
+    }
+
+    /**
+     * Keys with property paths (e.g. {@code user.name}) are mapped into nested maps, which needs the regular path.
+     *
+     * @return true if no key is a property path
+     */
+    boolean isFlat() {
+      return flat;
+    }
+
+    int slotOf(int column) {
+      return slots[column];
+    }
+  }
+}
@@ -21,12 +21,15 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.ibatis.annotations.AutomapConstructor;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
@@ -39,6 +42,8 @@ import org.apache.ibatis.executor.ExecutorException;
 import org.apache.ibatis.executor.loader.ResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.executor.result.ColumnarResult;
+import org.apache.ibatis.executor.result.ColumnarResultHandler;
 import org.apache.ibatis.executor.result.DefaultResultContext;
 import org.apache.ibatis.executor.result.DefaultResultHandler;
 import org.apache.ibatis.executor.result.ResultMapException;
@@ -51,14 +56,24 @@ import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.RecordUtil;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
 import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.factory.ConstructorInstantiator;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.invoker.PrimitiveSetter;
+import org.apache.ibatis.reflection.wrapper.BeanWrapper;
+import org.apache.ibatis.reflection.wrapper.ImmutableObjectWrapper;
+import org.apache.ibatis.reflection.wrapper.ImmutableType;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultContext;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.PrimitiveTypeHandler;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.apache.ibatis.util.MapUtil;
@@ -96,9 +111,16 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // Cached Automappings
   private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
 
+  // Cached constructors
+  private final Map<String, ConstructorAutoMapping> constructorAutoMappingsCache = new HashMap<>();
+  private final Map<List<ResultMapping>, ConstructorInstantiator> constructorInstantiatorCache = new IdentityHashMap<>();
+
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
   private boolean useConstructorMappings;
 
+  // rows read from the result sets, used for adaptive fetch sizes
+  private int fetchedRowCount;
+
   private static class PendingRelation {
     public MetaObject metaObject;
     public ResultMapping propertyMapping;
@@ -109,12 +131,38 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     private final String property;
     private final TypeHandler<?> typeHandler;
     private final boolean primitive;
+    // 基本类型属性直接从结果集读取基本类型值并设置,避免装箱.仅在结果对象的类型为targetType时使用.
+    private final Class<?> targetType;
+    private final PrimitiveSetter primitiveSetter;
 
     public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
+      this(column, property, typeHandler, primitive, null, null);
+    }
+
+    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive,
+        Class<?> targetType, PrimitiveSetter primitiveSetter) {
       this.column = column;
       this.property = property;
       this.typeHandler = typeHandler;
       this.primitive = primitive;
+      this.targetType = targetType;
+      this.primitiveSetter = primitiveSetter;
+    }
+  }
+
+  private static class ConstructorAutoMapping {
+    private final Class<?>[] parameterTypes;
+    private final String[] columns;
+    private final TypeHandler<?>[] typeHandlers;
+    private final ConstructorInstantiator instantiator;
+    private final Object[] args;
+
+    public ConstructorAutoMapping(Class<?>[] parameterTypes, String[] columns, TypeHandler<?>[] typeHandlers, ConstructorInstantiator instantiator) {
+      this.parameterTypes = parameterTypes;
+      this.columns = columns;
+      this.typeHandlers = typeHandlers;
+      this.instantiator = instantiator;
+      this.args = new Object[parameterTypes.length];
     }
   }
 
@@ -195,6 +243,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       ResultMap resultMap = resultMaps.get(resultSetCount);
       // 处理结果集映射,从返回结果数组中,一个一个的将参数转为ResultMap标签指定的java类型.
       handleResultSet(rsw, resultMap, multipleResults, null);
+      if (resultSetCount == 0 && configuration.isAdaptiveFetchSizeEnabled()) {
+        // 记录第一个结果集读取的行数,用于选择后续执行的fetchSize.
+        mappedStatement.getFetchSizeStatistics().record(fetchedRowCount, rsw.getColumnNames().size());
+      }
       rsw = getNextResultSet(stmt);
       cleanUpAfterHandlingResultSet();
       resultSetCount++;
@@ -299,7 +351,14 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (parentMapping != null) {
         handleRowValues(rsw, resultMap, null, RowBounds.DEFAULT, parentMapping);
       } else {
-        if (resultHandler == null) {
+        if (resultHandler == null && ColumnarResult.class.equals(resultMap.getType())) {
+          // resultType为ColumnarResult时,整个结果集按列填充到一个ColumnarResult对象中.
+          ColumnarResultHandler columnarResultHandler = new ColumnarResultHandler();
+          handleRowValues(rsw, resultMap, columnarResultHandler, rowBounds, null);
+          List<Object> resultList = new ArrayList<>();
+          resultList.add(columnarResultHandler.getResult());
+          multipleResults.add(resultList);
+        } else if (resultHandler == null) {
           DefaultResultHandler defaultResultHandler = new DefaultResultHandler(objectFactory);
           // 映射到resultMap配置的字段或实体对象,以及嵌套对象.
           handleRowValues(rsw, resultMap, defaultResultHandler, rowBounds, null);
@@ -324,7 +383,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   //
 
   public void handleRowValues(ResultSetWrapper rsw, ResultMap resultMap, ResultHandler<?> resultHandler, RowBounds rowBounds, ResultMapping parentMapping) throws SQLException {
-    if (resultMap.hasNestedResultMaps()) {
+    if (resultHandler instanceof ColumnarResultHandler) {
+      handleRowValuesForColumnarResult(rsw, resultMap, (ColumnarResultHandler) resultHandler, rowBounds);
+    } else if (resultMap.hasNestedResultMaps()) {
       ensureNoRowBounds();
       checkResultHandler();
       handleRowValuesForNestedResultMap(rsw, resultMap, resultHandler, rowBounds, parentMapping);
@@ -355,13 +416,29 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     // 将起始索引下标设置为rowBounds中指定的offset.
     skipRows(resultSet, rowBounds);
     // shouldProcessMoreRows()方法中会判断当前rowBounds对象中设置的limit是否大于已经处理过的行数,当等于limit限制时,则退出循环.
-    while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+    while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && nextRow(resultSet)) {
       ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
       Object rowValue = getRowValue(rsw, discriminatedResultMap, null);
       storeObject(resultHandler, resultContext, rowValue, parentMapping, resultSet);
     }
   }
 
+  private void handleRowValuesForColumnarResult(ResultSetWrapper rsw, ResultMap resultMap, ColumnarResultHandler resultHandler, RowBounds rowBounds)
+      throws SQLException {
+    if (resultMap.hasNestedResultMaps()) {
+      throw new ExecutorException("Mapped Statements with nested result mappings cannot be read into a columnar result.");
+    }
+    final ColumnarResult columnarResult = resultHandler.prepare(rsw.getColumnNames(), rsw.getJdbcTypes());
+    final ResultSet resultSet = rsw.getResultSet();
+    skipRows(resultSet, rowBounds);
+    // 不创建行对象,直接将每列的值复制到ColumnarResult的列数组中.
+    int rowCount = 0;
+    while (rowCount < rowBounds.getLimit() && !resultSet.isClosed() && nextRow(resultSet)) {
+      columnarResult.addRow(resultSet);
+      rowCount++;
+    }
+  }
+
   private void storeObject(ResultHandler<?> resultHandler, DefaultResultContext<Object> resultContext, Object rowValue, ResultMapping parentMapping, ResultSet rs) throws SQLException {
     if (parentMapping != null) {
       linkToParents(rs, parentMapping, rowValue);
@@ -376,6 +453,14 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     ((ResultHandler<Object>) resultHandler).handleResult(resultContext);
   }
 
+  private boolean nextRow(ResultSet rs) throws SQLException {
+    if (rs.next()) {
+      fetchedRowCount++;
+      return true;
+    }
+    return false;
+  }
+
   private boolean shouldProcessMoreRows(ResultContext<?> context, RowBounds rowBounds) {
     return !context.isStopped() && context.getResultCount() < rowBounds.getLimit();
   }
@@ -387,7 +472,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       }
     } else {
       for (int i = 0; i < rowBounds.getOffset(); i++) {
-        if (!rs.next()) {
+        if (!nextRow(rs)) {
           break;
         }
       }
@@ -399,6 +484,14 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   //
 
   private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
+    if (columnPrefix == null && isCompactMapResult(rsw, resultMap)) {
+      final List<UnMappedColumnAutoMapping> autoMapping = getCompactMapAutoMappings(rsw, resultMap);
+      final CompactRowMap.Keys keys = rsw.getRowMapKeys(resultMap,
+          () -> autoMapping.stream().map(mapping -> mapping.property).collect(Collectors.toList()));
+      if (keys.isFlat()) {
+        return getCompactRowValue(rsw, autoMapping, keys);
+      }
+    }
     final ResultLoaderMap lazyLoader = new ResultLoaderMap();
     Object rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix);
     if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
@@ -409,11 +502,45 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       }
       foundValues = applyPropertyMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix) || foundValues;
       foundValues = lazyLoader.size() > 0 || foundValues;
-      rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
+      rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? buildImmutableObject(rowValue) : null;
     }
     return rowValue;
   }
 
+  private boolean isCompactMapResult(ResultSetWrapper rsw, ResultMap resultMap) {
+    return configuration.isUseCompactMapResults()
+        && Map.class.equals(resultMap.getType())
+        && resultMap.getResultMappings().isEmpty()
+        && shouldApplyAutomaticMappings(resultMap, false)
+        && !hasTypeHandlerForResultObject(rsw, Map.class);
+  }
+
+  private List<UnMappedColumnAutoMapping> getCompactMapAutoMappings(ResultSetWrapper rsw, ResultMap resultMap) throws SQLException {
+    final List<UnMappedColumnAutoMapping> autoMapping = autoMappingsCache.get(resultMap.getId() + ":" + null);
+    if (autoMapping != null) {
+      return autoMapping;
+    }
+    return createAutomaticMappings(rsw, resultMap, configuration.newMetaObject(new HashMap<>()), null);
+  }
+
+  // resultType为map时,所有行共享同一份列名索引,每行只保存一个值数组,不再为每行创建HashMap.
+  private Object getCompactRowValue(ResultSetWrapper rsw, List<UnMappedColumnAutoMapping> autoMapping, CompactRowMap.Keys keys) throws SQLException {
+    final CompactRowMap rowValue = new CompactRowMap(keys);
+    boolean foundValues = false;
+    for (int i = 0; i < autoMapping.size(); i++) {
+      final UnMappedColumnAutoMapping mapping = autoMapping.get(i);
+      final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
+      if (value != null) {
+        foundValues = true;
+      }
+      if (value != null || configuration.isCallSettersOnNulls()) {
+        // gcode issue #377, call setter on nulls (value is not 'found')
+        rowValue.set(keys.slotOf(i), value);
+      }
+    }
+    return foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
+  }
+
   //
   // GET VALUE FROM ROW FOR NESTED RESULT MAP
   //
@@ -440,7 +567,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         foundValues = applyNestedResultMappings(rsw, resultMap, metaObject, columnPrefix, combinedKey, true) || foundValues;
         ancestorObjects.remove(resultMapId);
         foundValues = lazyLoader.size() > 0 || foundValues;
-        rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
+        rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? buildImmutableObject(rowValue) : null;
       }
       if (combinedKey != CacheKey.NULL_CACHE_KEY) {
         nestedResultObjects.put(combinedKey, rowValue);
@@ -449,6 +576,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return rowValue;
   }
 
+  private Object buildImmutableObject(Object rowValue) {
+    return rowValue instanceof ImmutableObjectWrapper ? ((ImmutableObjectWrapper) rowValue).build() : rowValue;
+  }
+
   private void putAncestor(Object resultObject, String resultMapId) {
     ancestorObjects.put(resultMapId, resultObject);
   }
@@ -543,7 +674,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final Class<?> propertyType = metaObject.getSetterType(property);
           if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
             final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
+            final PrimitiveSetter primitiveSetter = propertyType.isPrimitive()
+                ? findPrimitiveSetter(metaObject, property, propertyType, typeHandler) : null;
+            autoMapping.add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive(),
+                primitiveSetter == null ? null : metaObject.getOriginalObject().getClass(), primitiveSetter));
           } else {
             configuration.getAutoMappingUnknownColumnBehavior()
                 .doAction(mappedStatement, columnName, property, propertyType);
@@ -558,11 +692,32 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return autoMapping;
   }
 
+  // 属性与类型处理器都是基本类型时,返回可以不装箱设置属性的setter.
+  private PrimitiveSetter findPrimitiveSetter(MetaObject metaObject, String property, Class<?> propertyType, TypeHandler<?> typeHandler) {
+    if (metaObject.getObjectWrapper().getClass() != BeanWrapper.class
+        || property.indexOf('.') >= 0 || property.indexOf('[') >= 0
+        || !PrimitiveTypeHandler.canRead(typeHandler, propertyType)) {
+      return null;
+    }
+    Reflector reflector = reflectorFactory.findForClass(metaObject.getOriginalObject().getClass());
+    if (!reflector.hasSetter(property)) {
+      return null;
+    }
+    PrimitiveSetter setter = PrimitiveSetter.forInvoker(reflector.getSetInvoker(property));
+    return setter != null && setter.getType() == propertyType ? setter : null;
+  }
+
   private boolean applyAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject, String columnPrefix) throws SQLException {
     List<UnMappedColumnAutoMapping> autoMapping = createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix);
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {
       for (UnMappedColumnAutoMapping mapping : autoMapping) {
+        if (mapping.primitiveSetter != null && mapping.targetType == metaObject.getOriginalObject().getClass()) {
+          if (applyPrimitiveMapping(rsw.getResultSet(), mapping, metaObject.getOriginalObject())) {
+            foundValues = true;
+          }
+          continue;
+        }
         final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
         if (value != null) {
           foundValues = true;
@@ -576,6 +731,72 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return foundValues;
   }
 
+  // 读取基本类型的列值并设置到属性,为null时与装箱的路径一样不调用setter.
+  private boolean applyPrimitiveMapping(ResultSet rs, UnMappedColumnAutoMapping mapping, Object target) {
+    final TypeHandler<?> typeHandler = mapping.typeHandler;
+    final PrimitiveSetter setter = mapping.primitiveSetter;
+    final Class<?> type = setter.getType();
+    Object value = null;
+    try {
+      if (type == int.class) {
+        int v = ((PrimitiveTypeHandler.OfInt) typeHandler).getIntResult(rs, mapping.column);
+        if (v == 0 && rs.wasNull()) {
+          return false;
+        }
+        value = v;
+        setter.setInt(target, v);
+      } else if (type == long.class) {
+        long v = ((PrimitiveTypeHandler.OfLong) typeHandler).getLongResult(rs, mapping.column);
+        if (v == 0 && rs.wasNull()) {
+          return false;
+        }
+        value = v;
+        setter.setLong(target, v);
+      } else if (type == double.class) {
+        double v = ((PrimitiveTypeHandler.OfDouble) typeHandler).getDoubleResult(rs, mapping.column);
+        if (v == 0 && rs.wasNull()) {
+          return false;
+        }
+        value = v;
+        setter.setDouble(target, v);
+      } else if (type == float.class) {
+        float v = ((PrimitiveTypeHandler.OfFloat) typeHandler).getFloatResult(rs, mapping.column);
+        if (v == 0 && rs.wasNull()) {
+          return false;
+        }
+        value = v;
+        setter.setFloat(target, v);
+      } else if (type == short.class) {
+        short v = ((PrimitiveTypeHandler.OfShort) typeHandler).getShortResult(rs, mapping.column);
+        if (v == 0 && rs.wasNull()) {
+          return false;
+        }
+        value = v;
+        setter.setShort(target, v);
+      } else if (type == byte.class) {
+        byte v = ((PrimitiveTypeHandler.OfByte) typeHandler).getByteResult(rs, mapping.column);
+        if (v == 0 && rs.wasNull()) {
+          return false;
+        }
+        value = v;
+        setter.setByte(target, v);
+      } else {
+        boolean v = ((PrimitiveTypeHandler.OfBoolean) typeHandler).getBooleanResult(rs, mapping.column);
+        if (!v && rs.wasNull()) {
+          return false;
+        }
+        value = v;
+        setter.setBoolean(target, v);
+      }
+      return true;
+    } catch (SQLException e) {
+      throw new ResultMapException("Error attempting to get column '" + mapping.column + "' from result set.  Cause: " + e, e);
+    } catch (Throwable t) {
+      throw new ReflectionException("Could not set property '" + mapping.property + "' of '" + target.getClass()
+          + "' with value '" + value + "' Cause: " + t.toString(), t);
+    }
+  }
+
   // MULTIPLE RESULT SETS
 
   private void linkToParents(ResultSet rs, ResultMapping parentMapping, Object rowValue) throws SQLException {
@@ -660,12 +881,31 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       return createParameterizedResultObject(rsw, resultType, constructorMappings, constructorArgTypes, constructorArgs, columnPrefix);
     } else if (resultType.isInterface() || metaType.hasDefaultConstructor()) {
       return objectFactory.create(resultType);
+    } else if (canUseImmutableObjectWrapper(resultMap)) {
+      // 先收集属性值,映射完成后由getRowValue创建对象.
+      return ImmutableType.forClass(resultType).newWrapper();
     } else if (shouldApplyAutomaticMappings(resultMap, false)) {
-      return createByConstructorSignature(rsw, resultType, constructorArgTypes, constructorArgs);
+      return createByConstructorSignature(rsw, resultMap, constructorArgTypes, constructorArgs);
     }
     throw new ExecutorException("Do not know how to create an instance of " + resultType);
   }
 
+  boolean canUseImmutableObjectWrapper(ResultMap resultMap) {
+    if (!configuration.isImmutableResultMappingEnabled() || !canBypassObjectFactory()
+        || resultMap.hasNestedQueries() || resultMap.hasNestedResultMaps()
+        || ImmutableType.forClass(resultMap.getType()) == null) {
+      return false;
+    }
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      // 组件的值在对象创建之前还不存在,不能设置嵌套属性.
+      String property = propertyMapping.getProperty();
+      if (propertyMapping.getResultSet() != null || property != null && property.indexOf('.') >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   Object createParameterizedResultObject(ResultSetWrapper rsw, Class<?> resultType, List<ResultMapping> constructorMappings,
                                          List<Class<?>> constructorArgTypes, List<Object> constructorArgs, String columnPrefix) {
     boolean foundValues = false;
@@ -690,36 +930,99 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       constructorArgs.add(value);
       foundValues = value != null || foundValues;
     }
-    return foundValues ? objectFactory.create(resultType, constructorArgTypes, constructorArgs) : null;
+    if (!foundValues) {
+      return null;
+    }
+    final ConstructorInstantiator instantiator = getConstructorInstantiator(resultType, constructorMappings, constructorArgTypes);
+    if (instantiator != null) {
+      return instantiator.newInstance(constructorArgs.toArray());
+    }
+    return objectFactory.create(resultType, constructorArgTypes, constructorArgs);
   }
 
-  private Object createByConstructorSignature(ResultSetWrapper rsw, Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) throws SQLException {
+  // 构造方法在每个resultMap中只解析一次,之后通过MethodHandle直接调用,不再每行反射查找构造方法.
+  private ConstructorInstantiator getConstructorInstantiator(Class<?> resultType, List<ResultMapping> constructorMappings, List<Class<?>> constructorArgTypes) {
+    if (!canBypassObjectFactory()) {
+      return null;
+    }
+    return constructorInstantiatorCache.computeIfAbsent(constructorMappings, k -> {
+      try {
+        return ConstructorInstantiator.forConstructor(resultType.getDeclaredConstructor(constructorArgTypes.toArray(new Class<?>[0])));
+      } catch (NoSuchMethodException e) {
+        // let the object factory report the error
+        return null;
+      }
+    });
+  }
+
+  private boolean canBypassObjectFactory() {
+    // a custom object factory might intercept instance creation
+    return objectFactory.getClass() == DefaultObjectFactory.class;
+  }
+
+  private Object createByConstructorSignature(ResultSetWrapper rsw, ResultMap resultMap, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) throws SQLException {
+    ConstructorAutoMapping constructorAutoMapping = constructorAutoMappingsCache.get(resultMap.getId());
+    if (constructorAutoMapping == null) {
+      constructorAutoMapping = createConstructorAutoMapping(rsw, resultMap.getType());
+      constructorAutoMappingsCache.put(resultMap.getId(), constructorAutoMapping);
+    }
+    return createUsingConstructor(rsw, resultMap.getType(), constructorArgTypes, constructorArgs, constructorAutoMapping);
+  }
+
+  private ConstructorAutoMapping createConstructorAutoMapping(ResultSetWrapper rsw, Class<?> resultType) {
+    final Constructor<?> constructor = findConstructorForAutomapping(rsw, resultType);
+    final Class<?>[] parameterTypes = constructor.getParameterTypes();
+    final String[] columns = new String[parameterTypes.length];
+    final TypeHandler<?>[] typeHandlers = new TypeHandler<?>[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      columns[i] = rsw.getColumnNames().get(i);
+      typeHandlers[i] = rsw.getTypeHandler(parameterTypes[i], columns[i]);
+    }
+    final ConstructorInstantiator instantiator = canBypassObjectFactory() ? ConstructorInstantiator.forConstructor(constructor) : null;
+    return new ConstructorAutoMapping(parameterTypes, columns, typeHandlers, instantiator);
+  }
+
+  private Constructor<?> findConstructorForAutomapping(ResultSetWrapper rsw, Class<?> resultType) {
     final Constructor<?>[] constructors = resultType.getDeclaredConstructors();
     final Constructor<?> defaultConstructor = findDefaultConstructor(constructors);
     if (defaultConstructor != null) {
-      return createUsingConstructor(rsw, resultType, constructorArgTypes, constructorArgs, defaultConstructor);
-    } else {
-      for (Constructor<?> constructor : constructors) {
-        if (allowedConstructorUsingTypeHandlers(constructor, rsw.getJdbcTypes())) {
-          return createUsingConstructor(rsw, resultType, constructorArgTypes, constructorArgs, constructor);
-        }
+      return defaultConstructor;
+    }
+    final Constructor<?> canonicalConstructor = RecordUtil.getCanonicalConstructor(resultType);
+    if (canonicalConstructor != null && allowedConstructorUsingTypeHandlers(canonicalConstructor, rsw.getJdbcTypes())) {
+      return canonicalConstructor;
+    }
+    for (Constructor<?> constructor : constructors) {
+      if (allowedConstructorUsingTypeHandlers(constructor, rsw.getJdbcTypes())) {
+        return constructor;
       }
     }
     throw new ExecutorException("No constructor found in " + resultType.getName() + " matching " + rsw.getClassNames());
   }
 
-  private Object createUsingConstructor(ResultSetWrapper rsw, Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs, Constructor<?> constructor) throws SQLException {
+  private Object createUsingConstructor(ResultSetWrapper rsw, Class<?> resultType, List<Class<?>> constructorArgTypes, List<Object> constructorArgs,
+      ConstructorAutoMapping constructorAutoMapping) throws SQLException {
+    final Object[] args = constructorAutoMapping.args;
     boolean foundValues = false;
-    for (int i = 0; i < constructor.getParameterTypes().length; i++) {
-      Class<?> parameterType = constructor.getParameterTypes()[i];
-      String columnName = rsw.getColumnNames().get(i);
-      TypeHandler<?> typeHandler = rsw.getTypeHandler(parameterType, columnName);
-      Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
+    for (int i = 0; i < args.length; i++) {
+      Class<?> parameterType = constructorAutoMapping.parameterTypes[i];
+      Object value = constructorAutoMapping.typeHandlers[i].getResult(rsw.getResultSet(), constructorAutoMapping.columns[i]);
+      args[i] = value;
       constructorArgTypes.add(parameterType);
       constructorArgs.add(value);
       foundValues = value != null || foundValues;
     }
-    return foundValues ? objectFactory.create(resultType, constructorArgTypes, constructorArgs) : null;
+    try {
+      if (!foundValues) {
+        return null;
+      } else if (constructorAutoMapping.instantiator != null) {
+        return constructorAutoMapping.instantiator.newInstance(args);
+      } else {
+        return objectFactory.create(resultType, constructorArgTypes, constructorArgs);
+      }
+    } finally {
+      Arrays.fill(args, null);
+    }
   }
 
   private Constructor<?> findDefaultConstructor(final Constructor<?>[] constructors) {
@@ -901,7 +1204,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     ResultSet resultSet = rsw.getResultSet();
     skipRows(resultSet, rowBounds);
     Object rowValue = previousRowValue;
-    while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
+    while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && nextRow(resultSet)) {
       final ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
       final CacheKey rowKey = createRowKey(discriminatedResultMap, rsw, null);
       Object partialObject = nestedResultObjects.get(rowKey);
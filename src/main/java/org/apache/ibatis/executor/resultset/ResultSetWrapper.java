@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.ResultMap;
@@ -50,6 +51,7 @@ public class ResultSetWrapper {
   private final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new HashMap<>();
   private final Map<String, List<String>> mappedColumnNamesMap = new HashMap<>();
   private final Map<String, List<String>> unMappedColumnNamesMap = new HashMap<>();
+  private final Map<String, CompactRowMap.Keys> rowMapKeysMap = new HashMap<>();
 
   public ResultSetWrapper(ResultSet rs, Configuration configuration) throws SQLException {
     super();
@@ -180,6 +182,19 @@ public class ResultSetWrapper {
     return unMappedColumnNames;
   }
 
+  /**
+   * Gets the key layout shared by all compact map rows of this result set.
+   *
+   * @param resultMap
+   *          the result map
+   * @param columnKeys
+   *          supplies the map key of each auto mapped column, only called once per result map
+   * @return the shared keys
+   */
+  public CompactRowMap.Keys getRowMapKeys(ResultMap resultMap, Supplier<List<String>> columnKeys) {
+    return rowMapKeysMap.computeIfAbsent(getMapKey(resultMap, null), k -> new CompactRowMap.Keys(columnKeys.get()));
+  }
+
   private String getMapKey(ResultMap resultMap, String columnPrefix) {
     return resultMap.getId() + ":" + columnPrefix;
   }
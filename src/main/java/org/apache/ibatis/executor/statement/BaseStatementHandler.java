@@ -27,6 +27,7 @@ import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
@@ -124,6 +125,15 @@ public abstract class BaseStatementHandler implements StatementHandler {
       stmt.setFetchSize(fetchSize);
       return;
     }
+    if (configuration.isAdaptiveFetchSizeEnabled() && mappedStatement.getSqlCommandType() == SqlCommandType.SELECT) {
+      // 根据此前执行读取的行数选择fetchSize,首次执行时仍使用默认值.
+      Integer adaptiveFetchSize = mappedStatement.getFetchSizeStatistics().getFetchSize(configuration.getAdaptiveFetchSizeMin(),
+          configuration.getAdaptiveFetchSizeMax(), configuration.getAdaptiveFetchSizeMaxColumnValues());
+      if (adaptiveFetchSize != null) {
+        stmt.setFetchSize(adaptiveFetchSize);
+        return;
+      }
+    }
     Integer defaultFetchSize = configuration.getDefaultFetchSize();
     if (defaultFetchSize != null) {
       stmt.setFetchSize(defaultFetchSize);
@@ -43,16 +43,36 @@ public class BoundSql {
   private final List<ParameterMapping> parameterMappings;
   // 客户端执行SQL时传入的实际参数.
   private final Object parameterObject;
-  // 空的HashMap集合,之后会复制DynamicContext.bindings集合中的内容.
+  // 动态SQL生成过程中的参数绑定(DynamicContext.bindings),静态SQL为空的HashMap集合.
   private final Map<String, Object> additionalParameters;
   // additionalParameters集合对应的MetaObject对象.
   private final MetaObject metaParameters;
 
   public BoundSql(Configuration configuration, String sql, List<ParameterMapping> parameterMappings, Object parameterObject) {
+    this(configuration, sql, parameterMappings, parameterObject, new HashMap<>());
+  }
+
+  /**
+   * Creates a bound sql that uses the given map as its additional parameters. The map is not copied.
+   *
+   * @param configuration
+   *          the configuration
+   * @param sql
+   *          the sql
+   * @param parameterMappings
+   *          the parameter mappings
+   * @param parameterObject
+   *          the parameter object
+   * @param additionalParameters
+   *          the additional parameters, e.g. the bindings created by the dynamic language
+   * @since 3.5.7
+   */
+  public BoundSql(Configuration configuration, String sql, List<ParameterMapping> parameterMappings,
+      Object parameterObject, Map<String, Object> additionalParameters) {
     this.sql = sql;
     this.parameterMappings = parameterMappings;
     this.parameterObject = parameterObject;
-    this.additionalParameters = new HashMap<>();
+    this.additionalParameters = additionalParameters;
     this.metaParameters = configuration.newMetaObject(additionalParameters);
   }
 
@@ -68,6 +88,16 @@ public class BoundSql {
     return parameterObject;
   }
 
+  /**
+   * Gets the additional parameters, e.g. the bindings created by the dynamic language.
+   *
+   * @return the additional parameters
+   * @since 3.5.7
+   */
+  public Map<String, Object> getAdditionalParameters() {
+    return additionalParameters;
+  }
+
   public boolean hasAdditionalParameter(String name) {
     String paramName = new PropertyTokenizer(name).getName();
     return additionalParameters.containsKey(paramName);
@@ -0,0 +1,139 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.mapping;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Row count statistics of a {@link MappedStatement}, used to choose its fetch size when
+ * {@link org.apache.ibatis.session.Configuration#isAdaptiveFetchSizeEnabled() adaptiveFetchSizeEnabled} is on.
+ * <p>
+ * The fetch size follows a moving average of the rows read per execution, so most result sets are fetched in a
+ * single round trip, and is limited so that one fetch does not hold more than a configured number of column values.
+ * Statistics are updated without locking, as every execution of the statement reads and records them.
+ *
+ * @see org.apache.ibatis.session.Configuration#getAdaptiveFetchSizeMin()
+ * @see org.apache.ibatis.session.Configuration#getAdaptiveFetchSizeMax()
+ * @see org.apache.ibatis.session.Configuration#getAdaptiveFetchSizeMaxColumnValues()
+ */
+public final class FetchSizeStatistics {
+
+  private static final double SMOOTHING = 0.25;
+  private static final long NO_AVERAGE = Double.doubleToLongBits(Double.NaN);
+
+  private final LongAdder executions = new LongAdder();
+  private final LongAdder totalRows = new LongAdder();
+  private final AtomicInteger maxRows = new AtomicInteger();
+  // 移动平均值的double位表示,尚未记录时为NaN.
+  private final AtomicLong averageRows = new AtomicLong(NO_AVERAGE);
+  private volatile int columnCount;
+  private volatile int fetchSize;
+
+  /**
+   * Records the rows read by one execution.
+   *
+   * @param rows
+   *          the number of rows read from the first result set
+   * @param columns
+   *          the number of columns of the result set
+   */
+  public void record(int rows, int columns) {
+    long current;
+    long next;
+    do {
+      current = averageRows.get();
+      double average = Double.longBitsToDouble(current);
+      next = Double.doubleToLongBits(Double.isNaN(average) ? rows : average + SMOOTHING * (rows - average));
+    } while (!averageRows.compareAndSet(current, next));
+    executions.increment();
+    totalRows.add(rows);
+    if (rows > maxRows.get()) {
+      maxRows.accumulateAndGet(rows, Math::max);
+    }
+    if (columnCount != columns) {
+      columnCount = columns;
+    }
+  }
+
+  /**
+   * Chooses the fetch size for the next execution.
+   *
+   * @param min
+   *          the smallest fetch size to use
+   * @param max
+   *          the largest fetch size to use
+   * @param maxColumnValues
+   *          the largest number of column values (rows times columns) to fetch at once
+   * @return the fetch size, or {@code null} if nothing has been recorded yet
+   */
+  public Integer getFetchSize(int min, int max, int maxColumnValues) {
+    double average = Double.longBitsToDouble(averageRows.get());
+    if (Double.isNaN(average)) {
+      return null;
+    }
+    // 多取一行,使驱动在同一次往返中就能发现结果集已经结束.
+    long size = (long) Math.ceil(average) + 1;
+    int columns = columnCount;
+    if (columns > 0) {
+      size = Math.min(size, maxColumnValues / columns);
+    }
+    int chosen = (int) Math.max(min, Math.min(max, size));
+    // 大多数执行选出的值不变,不变时不写共享字段.
+    if (fetchSize != chosen) {
+      fetchSize = chosen;
+    }
+    return chosen;
+  }
+
+  public long getExecutions() {
+    return executions.sum();
+  }
+
+  public long getTotalRows() {
+    return totalRows.sum();
+  }
+
+  public int getMaxRows() {
+    return maxRows.get();
+  }
+
+  public double getAverageRows() {
+    double average = Double.longBitsToDouble(averageRows.get());
+    return Double.isNaN(average) ? 0 : average;
+  }
+
+  public int getColumnCount() {
+    return columnCount;
+  }
+
+  /**
+   * Returns the fetch size chosen last.
+   *
+   * @return the last fetch size, or 0 if none has been chosen yet
+   */
+  public int getLastFetchSize() {
+    return fetchSize;
+  }
+
+  @Override
+  public String toString() {
+    return "FetchSizeStatistics{executions=" + getExecutions() + ", totalRows=" + getTotalRows() + ", maxRows=" + getMaxRows()
+        + ", averageRows=" + getAverageRows() + ", columnCount=" + columnCount + ", lastFetchSize=" + fetchSize + "}";
+  }
+
+}
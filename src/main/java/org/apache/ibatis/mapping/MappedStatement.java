@@ -58,6 +58,8 @@ public final class MappedStatement {
   private Log statementLog;
   private LanguageDriver lang;
   private String[] resultSets;
+  // 执行统计,用于自适应地选择fetchSize.
+  private final FetchSizeStatistics fetchSizeStatistics = new FetchSizeStatistics();
 
   MappedStatement() {
     // constructor disabled
@@ -306,6 +308,10 @@ public final class MappedStatement {
     return resultSets;
   }
 
+  public FetchSizeStatistics getFetchSizeStatistics() {
+    return fetchSizeStatistics;
+  }
+
   public BoundSql getBoundSql(Object parameterObject) {
     // 调用DynamicSqlSource或RawSqlSource对象的getBoundSql方法.
     // 将sql中的#{}占位符替换为 ? 符号,
@@ -0,0 +1,263 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+
+/**
+ * {@link ParamMap} returned by {@link ParamNameResolver#getNamedParams(Object[])} for methods with several
+ * parameters.
+ * <p>
+ * All calls of a mapper method share one {@link Names} instance that maps every parameter name, including the
+ * generic names ({@code param1}, {@code param2}, ...), to the index of an argument. The map itself only holds the
+ * arguments in a plain array. Reading does not change that; any modification or view of the entries first copies the
+ * entries into the regular {@link java.util.HashMap} storage, which is used from then on.
+ *
+ * @since 3.5.7
+ */
+public final class CompactParamMap extends ParamMap<Object> {
+
+  private static final long serialVersionUID = -4520470394711622913L;
+
+  private final transient Names names;
+  // 复制到HashMap之后为null.
+  private transient Object[] values;
+
+  CompactParamMap(Names names, Object[] args) {
+    this.names = names;
+    this.values = new Object[names.argIndexes.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = args[names.argIndexes[i]];
+    }
+  }
+
+  @Override
+  public Object get(Object key) {
+    if (values == null) {
+      return super.get(key);
+    }
+    Integer slot = names.slots.get(key);
+    if (slot == null) {
+      throw new BindingException("Parameter '" + key + "' not found. Available parameters are " + names.slots.keySet());
+    }
+    return values[slot];
+  }
+
+  @Override
+  public Object getOrDefault(Object key, Object defaultValue) {
+    if (values == null) {
+      return super.getOrDefault(key, defaultValue);
+    }
+    Integer slot = names.slots.get(key);
+    return slot == null ? defaultValue : values[slot];
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return values == null ? super.containsKey(key) : names.slots.containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return values == null ? super.size() : names.slots.size();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return values == null ? super.isEmpty() : names.slots.isEmpty();
+  }
+
+  @Override
+  public boolean containsValue(Object value) {
+    if (values == null) {
+      return super.containsValue(value);
+    }
+    for (Object v : values) {
+      if (value == null ? v == null : value.equals(v)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super Object> action) {
+    if (values == null) {
+      super.forEach(action);
+      return;
+    }
+    names.slots.forEach((key, slot) -> action.accept(key, values[slot]));
+  }
+
+  // 以下方法会修改map或返回entry视图,先复制到HashMap.
+
+  @Override
+  public Object put(String key, Object value) {
+    copyOnWrite();
+    return super.put(key, value);
+  }
+
+  @Override
+  public void putAll(Map<? extends String, ?> m) {
+    copyOnWrite();
+    super.putAll(m);
+  }
+
+  @Override
+  public Object remove(Object key) {
+    copyOnWrite();
+    return super.remove(key);
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    copyOnWrite();
+    return super.remove(key, value);
+  }
+
+  @Override
+  public void clear() {
+    copyOnWrite();
+    super.clear();
+  }
+
+  @Override
+  public Object putIfAbsent(String key, Object value) {
+    copyOnWrite();
+    return super.putIfAbsent(key, value);
+  }
+
+  @Override
+  public boolean replace(String key, Object oldValue, Object newValue) {
+    copyOnWrite();
+    return super.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public Object replace(String key, Object value) {
+    copyOnWrite();
+    return super.replace(key, value);
+  }
+
+  @Override
+  public void replaceAll(BiFunction<? super String, ? super Object, ?> function) {
+    copyOnWrite();
+    super.replaceAll(function);
+  }
+
+  @Override
+  public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction) {
+    copyOnWrite();
+    return super.computeIfAbsent(key, mappingFunction);
+  }
+
+  @Override
+  public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+    copyOnWrite();
+    return super.computeIfPresent(key, remappingFunction);
+  }
+
+  @Override
+  public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction) {
+    copyOnWrite();
+    return super.compute(key, remappingFunction);
+  }
+
+  @Override
+  public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+    copyOnWrite();
+    return super.merge(key, value, remappingFunction);
+  }
+
+  @Override
+  public Set<String> keySet() {
+    copyOnWrite();
+    return super.keySet();
+  }
+
+  @Override
+  public Collection<Object> values() {
+    copyOnWrite();
+    return super.values();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    copyOnWrite();
+    return super.entrySet();
+  }
+
+  @Override
+  public Object clone() {
+    copyOnWrite();
+    return super.clone();
+  }
+
+  private void copyOnWrite() {
+    Object[] args = values;
+    if (args == null) {
+      return;
+    }
+    values = null;
+    names.slots.forEach((key, slot) -> super.put(key, args[slot]));
+  }
+
+  private Object writeReplace() {
+    copyOnWrite();
+    return this;
+  }
+
+  /**
+   * Parameter names of a mapper method, shared by all its calls.
+   */
+  static final class Names {
+    // 参数名称(包括param1,param2...) -> values下标.
+    private final Map<String, Integer> slots;
+    // values下标 -> 方法参数下标.
+    private final int[] argIndexes;
+
+    /**
+     * @param names
+     *          the parameter names by argument index, special parameters excluded
+     */
+    Names(Map<Integer, String> names) {
+      Map<String, Integer> map = new LinkedHashMap<>();
+      this.argIndexes = new int[names.size()];
+      int slot = 0;
+      for (Map.Entry<Integer, String> entry : names.entrySet()) {
+        argIndexes[slot] = entry.getKey();
+        map.put(entry.getValue(), slot);
+        String genericName = ParamNameResolver.GENERIC_NAME_PREFIX + (slot + 1);
+        // ensure not to overwrite parameter named with @Param
+        if (!names.containsValue(genericName)) {
+          map.put(genericName, slot);
+        }
+        slot++;
+      }
+      this.slots = map;
+    }
+  }
+
+}
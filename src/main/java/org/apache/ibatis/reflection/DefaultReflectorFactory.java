@@ -20,8 +20,29 @@ import java.util.concurrent.ConcurrentMap;
 
 import org.apache.ibatis.util.MapUtil;
 
+/**
+ * Reflector factory that shares the reflectors of application classes with all other instances in the JVM.
+ * <p>
+ * Reflectors only depend on their class, so the reflector of a class loaded by the class loader of MyBatis, or by one
+ * of its descendants, is created once no matter how many configurations use it. These reflectors are kept with a
+ * {@link ClassValue}. A value stored in a class of a parent loader (e.g. a JDK class) would keep the class loader of
+ * MyBatis reachable as long as that class is (JDK-8136353), so the reflectors of other classes are cached by each
+ * factory instead.
+ */
 public class DefaultReflectorFactory implements ReflectorFactory {
+
+  private static final ClassLoader CLASS_LOADER = DefaultReflectorFactory.class.getClassLoader();
+
+  // 所有DefaultReflectorFactory共享的Reflector缓存,只用于MyBatis的类加载器及其子加载器加载的类,随Class一起回收.
+  private static final ClassValue<Reflector> REFLECTORS = new ClassValue<Reflector>() {
+    @Override
+    protected Reflector computeValue(Class<?> type) {
+      return new Reflector(type);
+    }
+  };
+
   private boolean classCacheEnabled = true;
+  // 其他类加载器(例如JDK)加载的类的Reflector缓存.
   private final ConcurrentMap<Class<?>, Reflector> reflectorMap = new ConcurrentHashMap<>();
 
   public DefaultReflectorFactory() {
@@ -41,10 +62,19 @@ public class DefaultReflectorFactory implements ReflectorFactory {
   public Reflector findForClass(Class<?> type) {
     if (classCacheEnabled) {
       // synchronized (type) removed see issue #461
-      return MapUtil.computeIfAbsent(reflectorMap, type, Reflector::new);
+      return isShareable(type) ? REFLECTORS.get(type) : MapUtil.computeIfAbsent(reflectorMap, type, Reflector::new);
     } else {
       return new Reflector(type);
     }
   }
 
+  static boolean isShareable(Class<?> type) {
+    for (ClassLoader loader = type.getClassLoader(); loader != null; loader = loader.getParent()) {
+      if (loader == CLASS_LOADER) {
+        return true;
+      }
+    }
+    return false;
+  }
+
 }
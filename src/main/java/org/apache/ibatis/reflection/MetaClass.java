@@ -57,16 +57,18 @@ public class MetaClass {
   }
 
   public String findProperty(String name) {
-    // 委托给buildProperty方法实现.
-    StringBuilder prop = buildProperty(name, new StringBuilder());
-    return prop.length() > 0 ? prop.toString() : null;
+    return findProperty(name, false);
   }
 
   public String findProperty(String name, boolean useCamelCaseMapping) {
-    if (useCamelCaseMapping) {
-      name = name.replace("_", "");
+    // 解析结果按原始名称缓存在Reflector中,包括嵌套属性和未找到的情况.
+    String prop = reflector.getPropertyPath(name, useCamelCaseMapping);
+    if (prop == null) {
+      // 委托给buildProperty方法实现.
+      prop = buildProperty(useCamelCaseMapping ? name.replace("_", "") : name, new StringBuilder()).toString();
+      reflector.putPropertyPath(name, useCamelCaseMapping, prop);
     }
-    return findProperty(name);
+    return prop.isEmpty() ? null : prop;
   }
 
   public String[] getGetterNames() {
@@ -23,6 +23,7 @@ import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.property.PropertyTokenizer;
 import org.apache.ibatis.reflection.wrapper.BeanWrapper;
 import org.apache.ibatis.reflection.wrapper.CollectionWrapper;
+import org.apache.ibatis.reflection.wrapper.DefaultObjectWrapperFactory;
 import org.apache.ibatis.reflection.wrapper.MapWrapper;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
@@ -45,6 +46,8 @@ public class MetaObject {
   private final ObjectWrapperFactory objectWrapperFactory;
   // 用于创建并缓存Reflector对象的工厂对象.
   private final ReflectorFactory reflectorFactory;
+  // 是否可以通过缓存的PropertyAccessor读写属性路径.
+  private final boolean usePropertyAccessor;
 
   private MetaObject(Object object, ObjectFactory objectFactory, ObjectWrapperFactory objectWrapperFactory, ReflectorFactory reflectorFactory) {
     this.originalObject = object;
@@ -69,6 +72,26 @@ public class MetaObject {
       // 若原始对象是普通的javaBean对象,则创建BeanWrapper对象.
       this.objectWrapper = new BeanWrapper(this, object);
     }
+    this.usePropertyAccessor = canUsePropertyAccessor(objectWrapper, objectWrapperFactory, reflectorFactory);
+  }
+
+  /**
+   * Checks whether property paths can be read and written through a cached {@link PropertyAccessor} instead of
+   * the wrappers. This requires the built-in wrappers and a reflector factory that caches reflectors.
+   *
+   * @param objectWrapper
+   *          the wrapper of the root object, or {@code null} if it is not known yet
+   * @param objectWrapperFactory
+   *          the object wrapper factory
+   * @param reflectorFactory
+   *          the reflector factory
+   * @return true if a {@link PropertyAccessor} behaves the same as the wrappers
+   * @since 3.5.7
+   */
+  public static boolean canUsePropertyAccessor(ObjectWrapper objectWrapper, ObjectWrapperFactory objectWrapperFactory,
+      ReflectorFactory reflectorFactory) {
+    return (objectWrapper == null || objectWrapper.getClass() == BeanWrapper.class || objectWrapper.getClass() == MapWrapper.class)
+        && objectWrapperFactory.getClass() == DefaultObjectWrapperFactory.class && reflectorFactory.isClassCacheEnabled();
   }
 
   // MetaObject的构造方法是private修饰的,只能通过forObject这个静态方法创建MetaObject对象.
@@ -128,6 +151,14 @@ public class MetaObject {
   }
 
   public Object getValue(String name) {
+    if (usePropertyAccessor) {
+      return PropertyAccessor.forPath(originalObject.getClass(), name, reflectorFactory).getValue(originalObject, reflectorFactory);
+    }
+    return getValueByWrapper(name);
+  }
+
+  // 不使用PropertyAccessor,通过ObjectWrapper读取属性路径.
+  Object getValueByWrapper(String name) {
     // 解析属性表达式.
     PropertyTokenizer prop = new PropertyTokenizer(name);
     // 处理子表达式.
@@ -148,6 +179,15 @@ public class MetaObject {
   }
 
   public void setValue(String name, Object value) {
+    if (usePropertyAccessor) {
+      PropertyAccessor.forPath(originalObject.getClass(), name, reflectorFactory).setValue(originalObject, value, objectFactory, reflectorFactory);
+    } else {
+      setValueByWrapper(name, value);
+    }
+  }
+
+  // 不使用PropertyAccessor,通过ObjectWrapper设置属性路径的值.
+  void setValueByWrapper(String name, Object value) {
     PropertyTokenizer prop = new PropertyTokenizer(name);
     if (prop.hasNext()) {
       MetaObject metaValue = metaObjectForProperty(prop.getIndexedName());
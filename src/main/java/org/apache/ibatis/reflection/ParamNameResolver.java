@@ -20,7 +20,6 @@ import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -57,6 +56,9 @@ public class ParamNameResolver {
 
   private boolean hasParamAnnotation;
 
+  // 多个参数时,所有调用共享的参数名称索引.
+  private final CompactParamMap.Names paramMapNames;
+
   public ParamNameResolver(Configuration config, Method method) {
     // 设置是否使用参数实际名称.
     this.useActualParamName = config.isUseActualParamName();
@@ -105,6 +107,7 @@ public class ParamNameResolver {
     }
     // 初始化name集合.
     names = Collections.unmodifiableSortedMap(map);
+    paramMapNames = new CompactParamMap.Names(names);
   }
 
   private String getActualParamName(Method method, int paramIndex) {
@@ -147,26 +150,9 @@ public class ParamNameResolver {
       // 如果参数是数组或集合类型,则转换为map对象.
       return wrapToMapIfCollection(value, useActualParamName ? names.get(0) : null);
     } else {
-      // param这个map记录了参数名称与参数值的对应关系,ParamMap继承了HashMap,如果向paramMap中添加已经存在的key,会报错.
-      final Map<String, Object> param = new ParamMap<>();
-      int i = 0;
-      for (Map.Entry<Integer, String> entry : names.entrySet()) {
-        // 将参数名称与参数值的对应关系记录到param中.
-        param.put(entry.getValue(), args[entry.getKey()]);
-        // add generic param names (param1, param2, ...)
-        // 为参数创建param+索引格式的默认参数名称,并添加到param集合中.
-        final String genericParamName = GENERIC_NAME_PREFIX + (i + 1);
-        // ensure not to overwrite parameter named with @Param
-        // 如果@param注解指定的参数名称就是param+索引格式的,则不需要添加.
-        if (!names.containsValue(genericParamName)) {
-          // 再加一个#{param1},#{param2}...参数.
-          // 可以传递多个参数给一个映射器方法,如果你这样做了,默认情况下它们将会以它们在参数列表中的位置来命名,比如:#{param1},#{param2}等.
-          // 如果想改变参数的名称(只在多参数情况下),那么你可以在参数上使用@Param(“paramName”)注解.
-          param.put(genericParamName, args[entry.getKey()]);
-        }
-        i++;
-      }
-      return param;
+      // 参数名称与参数值的对应关系,除了参数名称之外,还可以用#{param1},#{param2}...按位置引用参数.
+      // 名称索引在所有调用间共享,每次调用只复制参数值.
+      return new CompactParamMap(paramMapNames, args);
     }
   }
 
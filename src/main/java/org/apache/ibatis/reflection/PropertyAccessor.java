@@ -0,0 +1,269 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.BaseWrapper;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+
+/**
+ * Reads and writes a property path such as {@code order.items[0].price} the same way {@link MetaObject} does, but
+ * without parsing the path or creating a {@link MetaObject} for each level on every access.
+ * <p>
+ * The path is split once when the accessor is created. Each level remembers the invoker it used for the last class it
+ * saw, so as long as the objects along the path keep the same classes no lookup is needed either. Accessors are
+ * cached by the {@link Reflector} of the root class, see {@link #forPath(Class, String, ReflectorFactory)}. As a
+ * {@link Reflector} may be shared by several configurations, the reflector factory is passed in on each access.
+ * <p>
+ * Maps and beans are handled directly. Collections and objects implementing {@link ObjectWrapper} are left to
+ * {@link MetaObject}. Accessors assume the default {@link org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory}.
+ *
+ * @since 3.5.7
+ */
+public final class PropertyAccessor {
+
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private final Step[] steps;
+
+  PropertyAccessor(Reflector reflector, String path) {
+    List<Step> list = new ArrayList<>();
+    PropertyTokenizer prop = new PropertyTokenizer(path);
+    String remaining = path;
+    while (true) {
+      list.add(new Step(prop.getName(), prop.getIndex(), remaining));
+      if (!prop.hasNext()) {
+        break;
+      }
+      remaining = prop.getChildren();
+      prop = prop.next();
+    }
+    this.steps = list.toArray(new Step[0]);
+    // 根对象的类型已知,预先解析第一层的invoker.
+    steps[0].bind(reflector);
+  }
+
+  /**
+   * Gets the accessor of a property path, cached by the reflector of the type.
+   *
+   * @param type
+   *          the class of the objects the path is read from
+   * @param path
+   *          the property path
+   * @param reflectorFactory
+   *          the reflector factory
+   * @return the accessor
+   */
+  public static PropertyAccessor forPath(Class<?> type, String path, ReflectorFactory reflectorFactory) {
+    return reflectorFactory.findForClass(type).getPropertyAccessor(path);
+  }
+
+  /**
+   * Gets the value of the path, same as {@link MetaObject#getValue(String)}.
+   *
+   * @param object
+   *          the root object
+   * @param reflectorFactory
+   *          the reflector factory used for the classes found along the path
+   * @return the value, or {@code null} if a level along the path is {@code null}
+   */
+  public Object getValue(Object object, ReflectorFactory reflectorFactory) {
+    Object current = object;
+    int last = steps.length - 1;
+    for (int i = 0; i <= last; i++) {
+      Step step = steps[i];
+      if (isWrapped(current)) {
+        return metaObjectFor(current, SystemMetaObject.DEFAULT_OBJECT_FACTORY, reflectorFactory).getValueByWrapper(step.path);
+      }
+      current = step.get(current, reflectorFactory);
+      if (current == null) {
+        return null;
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Sets the value of the path, same as {@link MetaObject#setValue(String, Object)}.
+   *
+   * @param object
+   *          the root object
+   * @param value
+   *          the value to set
+   * @param objectFactory
+   *          the factory used to instantiate levels along the path that are {@code null}
+   * @param reflectorFactory
+   *          the reflector factory used for the classes found along the path
+   */
+  public void setValue(Object object, Object value, ObjectFactory objectFactory, ReflectorFactory reflectorFactory) {
+    Object current = object;
+    int last = steps.length - 1;
+    for (int i = 0; i < last; i++) {
+      Step step = steps[i];
+      if (isWrapped(current)) {
+        metaObjectFor(current, objectFactory, reflectorFactory).setValueByWrapper(step.path, value);
+        return;
+      }
+      Object next = step.get(current, reflectorFactory);
+      if (next == null) {
+        if (value != null) {
+          // 中间层为null时交给MetaObject创建.
+          metaObjectFor(current, objectFactory, reflectorFactory).setValueByWrapper(step.path, value);
+        }
+        return;
+      }
+      current = next;
+    }
+    if (isWrapped(current)) {
+      metaObjectFor(current, objectFactory, reflectorFactory).setValueByWrapper(steps[last].path, value);
+    } else {
+      steps[last].set(current, value, reflectorFactory);
+    }
+  }
+
+  private boolean isWrapped(Object object) {
+    return object instanceof ObjectWrapper || object instanceof Collection;
+  }
+
+  private MetaObject metaObjectFor(Object object, ObjectFactory objectFactory, ReflectorFactory reflectorFactory) {
+    return MetaObject.forObject(object, objectFactory, SystemMetaObject.DEFAULT_OBJECT_WRAPPER_FACTORY, reflectorFactory);
+  }
+
+  // 最近一次使用的类型及其invoker.
+  private static final class Binding {
+    private final Class<?> type;
+    private final Invoker invoker;
+
+    Binding(Class<?> type, Invoker invoker) {
+      this.type = type;
+      this.invoker = invoker;
+    }
+  }
+
+  // 属性路径中的一层.
+  private static final class Step {
+    private final String name;
+    private final String index;
+    // 从这一层开始的剩余路径,交给MetaObject处理时使用.
+    private final String path;
+    private volatile Binding getter;
+    private volatile Binding setter;
+
+    Step(String name, String index, String path) {
+      this.name = name;
+      this.index = index;
+      this.path = path;
+    }
+
+    void bind(Reflector reflector) {
+      Class<?> type = reflector.getType();
+      if (Map.class.isAssignableFrom(type)) {
+        return;
+      }
+      if (reflector.hasGetter(name)) {
+        getter = new Binding(type, reflector.getGetInvoker(name));
+      }
+      if (reflector.hasSetter(name)) {
+        setter = new Binding(type, reflector.getSetInvoker(name));
+      }
+    }
+
+    Object get(Object object, ReflectorFactory reflectorFactory) {
+      Object collection = resolve(object, reflectorFactory);
+      return index == null ? collection : BaseWrapper.getCollectionValue(name, index, collection);
+    }
+
+    void set(Object object, Object value, ReflectorFactory reflectorFactory) {
+      if (index != null) {
+        BaseWrapper.setCollectionValue(name, index, resolve(object, reflectorFactory), value);
+      } else if (object instanceof Map) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) object;
+        map.put(name, value);
+      } else {
+        setProperty(object, value, reflectorFactory);
+      }
+    }
+
+    // 与BaseWrapper.resolveCollection一致,名称为空时表示对象本身.
+    private Object resolve(Object object, ReflectorFactory reflectorFactory) {
+      if (index != null && name.isEmpty()) {
+        return object;
+      } else if (object instanceof Map) {
+        return ((Map<?, ?>) object).get(name);
+      } else {
+        return getProperty(object, reflectorFactory);
+      }
+    }
+
+    private Object getProperty(Object object, ReflectorFactory reflectorFactory) {
+      try {
+        Invoker method = getInvoker(object.getClass(), reflectorFactory);
+        try {
+          return method.invoke(object, NO_ARGUMENTS);
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not get property '" + name + "' from " + object.getClass() + ".  Cause: " + t.toString(), t);
+      }
+    }
+
+    private void setProperty(Object object, Object value, ReflectorFactory reflectorFactory) {
+      try {
+        Invoker method = setInvoker(object.getClass(), reflectorFactory);
+        Object[] params = {value};
+        try {
+          method.invoke(object, params);
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not set property '" + name + "' of '" + object.getClass() + "' with value '" + value + "' Cause: " + t.toString(), t);
+      }
+    }
+
+    private Invoker getInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      Binding binding = getter;
+      if (binding != null && binding.type == type) {
+        return binding.invoker;
+      }
+      Invoker invoker = reflectorFactory.findForClass(type).getGetInvoker(name);
+      getter = new Binding(type, invoker);
+      return invoker;
+    }
+
+    private Invoker setInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      Binding binding = setter;
+      if (binding != null && binding.type == type) {
+        return binding.invoker;
+      }
+      Invoker invoker = reflectorFactory.findForClass(type).getSetInvoker(name);
+      setter = new Binding(type, invoker);
+      return invoker;
+    }
+  }
+
+}
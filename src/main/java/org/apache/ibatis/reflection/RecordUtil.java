@@ -0,0 +1,113 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Access to Java record metadata. The record API is looked up reflectively so this class also loads on JDKs
+ * without records, where {@link #isRecord(Class)} always returns <code>false</code>.
+ */
+public class RecordUtil {
+
+  private static final Method getRecordComponents;
+  private static final Method getComponentName;
+  private static final Method getComponentType;
+
+  static {
+    Method components = null;
+    Method name = null;
+    Method type = null;
+    try {
+      components = Class.class.getMethod("getRecordComponents");
+      Class<?> recordComponent = components.getReturnType().getComponentType();
+      name = recordComponent.getMethod("getName");
+      type = recordComponent.getMethod("getType");
+    } catch (NoSuchMethodException e) {
+      // records are not available
+    }
+    getRecordComponents = components;
+    getComponentName = name;
+    getComponentType = type;
+  }
+
+  public static boolean isRecord(Class<?> type) {
+    return getRecordComponents != null && type.getSuperclass() != null
+        && "java.lang.Record".equals(type.getSuperclass().getName());
+  }
+
+  /**
+   * Returns the names of the record components in declaration order.
+   *
+   * @param type
+   *          the record class
+   * @return the component names, or <code>null</code> if the type is not a record
+   */
+  public static String[] getComponentNames(Class<?> type) {
+    Object[] components = getComponents(type);
+    if (components == null) {
+      return null;
+    }
+    String[] names = new String[components.length];
+    for (int i = 0; i < components.length; i++) {
+      names[i] = (String) invoke(getComponentName, components[i]);
+    }
+    return names;
+  }
+
+  /**
+   * Returns the canonical constructor, whose parameters match the record components.
+   *
+   * @param type
+   *          the record class
+   * @return the canonical constructor, or <code>null</code> if the type is not a record
+   */
+  public static Constructor<?> getCanonicalConstructor(Class<?> type) {
+    Object[] components = getComponents(type);
+    if (components == null) {
+      return null;
+    }
+    Class<?>[] parameterTypes = new Class<?>[components.length];
+    for (int i = 0; i < components.length; i++) {
+      parameterTypes[i] = (Class<?>) invoke(getComponentType, components[i]);
+    }
+    try {
+      return type.getDeclaredConstructor(parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new ReflectionException("Record " + type.getName() + " has no canonical constructor. Cause: " + e, e);
+    }
+  }
+
+  private static Object[] getComponents(Class<?> type) {
+    if (!isRecord(type)) {
+      return null;
+    }
+    return (Object[]) invoke(getRecordComponents, type);
+  }
+
+  private static Object invoke(Method method, Object target) {
+    try {
+      return method.invoke(target);
+    } catch (ReflectiveOperationException e) {
+      throw new ReflectionException("Could not read record metadata of " + target + ". Cause: " + e, e);
+    }
+  }
+
+  private RecordUtil() {
+    super();
+  }
+}
@@ -19,6 +19,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
@@ -33,6 +34,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.ibatis.reflection.invoker.AmbiguousMethodInvoker;
 import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
@@ -52,13 +55,23 @@ import org.apache.ibatis.util.MapUtil;
  */
 public class Reflector {
 
+  private static final int MAX_PROPERTY_PATHS = 1024;
+
   private final Class<?> type;
   private final String[] readablePropertyNames;
   private final String[] writablePropertyNames;
   private final Map<String, Invoker> setMethods = new HashMap<>();
   private final Map<String, Invoker> getMethods = new HashMap<>();
-  private final Map<String, Class<?>> setTypes = new HashMap<>();
-  private final Map<String, Class<?>> getTypes = new HashMap<>();
+  // 属性类型的来源(Method或Field),第一次获取属性类型时才解析泛型,未使用的属性不需要解析.
+  private final Map<String, Member> setTypeSources = new HashMap<>();
+  private final Map<String, Member> getTypeSources = new HashMap<>();
+  private final ConcurrentMap<String, Class<?>> setTypes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Class<?>> getTypes = new ConcurrentHashMap<>();
+  // 以属性路径为key缓存的PropertyAccessor.
+  private final ConcurrentMap<String, PropertyAccessor> propertyAccessors = new ConcurrentHashMap<>();
+  // 列名 -> 属性路径的解析结果(MetaClass.findProperty),未找到时为空字符串.按是否启用驼峰映射分开保存.
+  private final ConcurrentMap<String, String> propertyPaths = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, String> camelCasePropertyPaths = new ConcurrentHashMap<>();
   private Constructor<?> defaultConstructor;
 
   private Map<String, String> caseInsensitivePropertyMap = new HashMap<>();
@@ -66,8 +79,9 @@ public class Reflector {
   public Reflector(Class<?> clazz) {
     type = clazz;
     addDefaultConstructor(clazz);
-    addGetMethods(clazz);
-    addSetMethods(clazz);
+    Method[] classMethods = getClassMethods(clazz);
+    addGetMethods(classMethods);
+    addSetMethods(classMethods);
     addFields(clazz);
     readablePropertyNames = getMethods.keySet().toArray(new String[0]);
     writablePropertyNames = setMethods.keySet().toArray(new String[0]);
@@ -81,14 +95,13 @@ public class Reflector {
 
   private void addDefaultConstructor(Class<?> clazz) {
     Constructor<?>[] constructors = clazz.getDeclaredConstructors();
-    Arrays.stream(constructors).filter(constructor -> constructor.getParameterTypes().length == 0)
+    Arrays.stream(constructors).filter(constructor -> constructor.getParameterCount() == 0)
       .findAny().ifPresent(constructor -> this.defaultConstructor = constructor);
   }
 
-  private void addGetMethods(Class<?> clazz) {
+  private void addGetMethods(Method[] methods) {
     Map<String, List<Method>> conflictingGetters = new HashMap<>();
-    Method[] methods = getClassMethods(clazz);
-    Arrays.stream(methods).filter(m -> m.getParameterTypes().length == 0 && PropertyNamer.isGetter(m.getName()))
+    Arrays.stream(methods).filter(m -> m.getParameterCount() == 0 && PropertyNamer.isGetter(m.getName()))
       .forEach(m -> addMethodConflict(conflictingGetters, PropertyNamer.methodToProperty(m.getName()), m));
     resolveGetterConflicts(conflictingGetters);
   }
@@ -132,14 +145,12 @@ public class Reflector {
             name, method.getDeclaringClass().getName()))
         : new MethodInvoker(method);
     getMethods.put(name, invoker);
-    Type returnType = TypeParameterResolver.resolveReturnType(method, type);
-    getTypes.put(name, typeToClass(returnType));
+    getTypeSources.put(name, method);
   }
 
-  private void addSetMethods(Class<?> clazz) {
+  private void addSetMethods(Method[] methods) {
     Map<String, List<Method>> conflictingSetters = new HashMap<>();
-    Method[] methods = getClassMethods(clazz);
-    Arrays.stream(methods).filter(m -> m.getParameterTypes().length == 1 && PropertyNamer.isSetter(m.getName()))
+    Arrays.stream(methods).filter(m -> m.getParameterCount() == 1 && PropertyNamer.isSetter(m.getName()))
       .forEach(m -> addMethodConflict(conflictingSetters, PropertyNamer.methodToProperty(m.getName()), m));
     resolveSetterConflicts(conflictingSetters);
   }
@@ -155,7 +166,8 @@ public class Reflector {
     for (Entry<String, List<Method>> entry : conflictingSetters.entrySet()) {
       String propName = entry.getKey();
       List<Method> setters = entry.getValue();
-      Class<?> getterType = getTypes.get(propName);
+      // 只有一个setter时不需要比较getter的类型.
+      Class<?> getterType = setters.size() > 1 && getTypeSources.containsKey(propName) ? getGetterType(propName) : null;
       boolean isGetterAmbiguous = getMethods.get(propName) instanceof AmbiguousMethodInvoker;
       boolean isSetterAmbiguous = false;
       Method match = null;
@@ -192,16 +204,30 @@ public class Reflector {
             "Ambiguous setters defined for property ''{0}'' in class ''{1}'' with types ''{2}'' and ''{3}''.",
             property, setter2.getDeclaringClass().getName(), paramType1.getName(), paramType2.getName()));
     setMethods.put(property, invoker);
-    Type[] paramTypes = TypeParameterResolver.resolveParamTypes(setter1, type);
-    setTypes.put(property, typeToClass(paramTypes[0]));
+    setTypeSources.put(property, setter1);
     return null;
   }
 
   private void addSetMethod(String name, Method method) {
     MethodInvoker invoker = new MethodInvoker(method);
     setMethods.put(name, invoker);
-    Type[] paramTypes = TypeParameterResolver.resolveParamTypes(method, type);
-    setTypes.put(name, typeToClass(paramTypes[0]));
+    setTypeSources.put(name, method);
+  }
+
+  // 解析属性类型的泛型,Method为getter或setter,Field为字段.
+  private Class<?> resolveType(Member source) {
+    Type resolved;
+    if (source instanceof Field) {
+      resolved = TypeParameterResolver.resolveFieldType((Field) source, type);
+    } else {
+      Method method = (Method) source;
+      if (method.getParameterCount() == 0) {
+        resolved = TypeParameterResolver.resolveReturnType(method, type);
+      } else {
+        resolved = TypeParameterResolver.resolveParamTypes(method, type)[0];
+      }
+    }
+    return typeToClass(resolved);
   }
 
   private Class<?> typeToClass(Type src) {
@@ -249,16 +275,14 @@ public class Reflector {
   private void addSetField(Field field) {
     if (isValidPropertyName(field.getName())) {
       setMethods.put(field.getName(), new SetFieldInvoker(field));
-      Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
-      setTypes.put(field.getName(), typeToClass(fieldType));
+      setTypeSources.put(field.getName(), field);
     }
   }
 
   private void addGetField(Field field) {
     if (isValidPropertyName(field.getName())) {
       getMethods.put(field.getName(), new GetFieldInvoker(field));
-      Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
-      getTypes.put(field.getName(), typeToClass(fieldType));
+      getTypeSources.put(field.getName(), field);
     }
   }
 
@@ -388,7 +412,11 @@ public class Reflector {
   public Class<?> getSetterType(String propertyName) {
     Class<?> clazz = setTypes.get(propertyName);
     if (clazz == null) {
-      throw new ReflectionException("There is no setter for property named '" + propertyName + "' in '" + type + "'");
+      Member source = setTypeSources.get(propertyName);
+      if (source == null) {
+        throw new ReflectionException("There is no setter for property named '" + propertyName + "' in '" + type + "'");
+      }
+      clazz = MapUtil.computeIfAbsent(setTypes, propertyName, k -> resolveType(source));
     }
     return clazz;
   }
@@ -402,7 +430,11 @@ public class Reflector {
   public Class<?> getGetterType(String propertyName) {
     Class<?> clazz = getTypes.get(propertyName);
     if (clazz == null) {
-      throw new ReflectionException("There is no getter for property named '" + propertyName + "' in '" + type + "'");
+      Member source = getTypeSources.get(propertyName);
+      if (source == null) {
+        throw new ReflectionException("There is no getter for property named '" + propertyName + "' in '" + type + "'");
+      }
+      clazz = MapUtil.computeIfAbsent(getTypes, propertyName, k -> resolveType(source));
     }
     return clazz;
   }
@@ -445,7 +477,35 @@ public class Reflector {
     return getMethods.containsKey(propertyName);
   }
 
+  PropertyAccessor getPropertyAccessor(String path) {
+    PropertyAccessor accessor = propertyAccessors.get(path);
+    if (accessor != null) {
+      return accessor;
+    }
+    // Map等类型的键可能是任意的,超过上限时不再缓存,与putPropertyPath一致.
+    if (propertyAccessors.size() >= MAX_PROPERTY_PATHS) {
+      return new PropertyAccessor(this, path);
+    }
+    return MapUtil.computeIfAbsent(propertyAccessors, path, p -> new PropertyAccessor(this, p));
+  }
+
   public String findPropertyName(String name) {
     return caseInsensitivePropertyMap.get(name.toUpperCase(Locale.ENGLISH));
   }
+
+  /**
+   * @return the cached result of {@link MetaClass#findProperty(String, boolean)}, an empty string if no property was
+   *         found, or {@code null} if the name was not resolved yet
+   */
+  String getPropertyPath(String name, boolean useCamelCaseMapping) {
+    return (useCamelCaseMapping ? camelCasePropertyPaths : propertyPaths).get(name);
+  }
+
+  void putPropertyPath(String name, boolean useCamelCaseMapping, String path) {
+    ConcurrentMap<String, String> paths = useCamelCaseMapping ? camelCasePropertyPaths : propertyPaths;
+    // 列名通常是有限的,超过上限时不再缓存,避免动态别名使缓存无限增长.
+    if (paths.size() < MAX_PROPERTY_PATHS) {
+      paths.putIfAbsent(name, path);
+    }
+  }
 }
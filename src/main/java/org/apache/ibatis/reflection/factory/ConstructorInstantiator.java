@@ -0,0 +1,97 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.factory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Creates instances through a constructor that is resolved once and invoked through a {@link MethodHandle}.
+ * <p>
+ * Unlike {@link Constructor#newInstance(Object...)}, no access check is performed per call, and the
+ * argument array can be reused by the caller because its elements are copied into the new instance.
+ */
+public final class ConstructorInstantiator {
+
+  private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+  private final Constructor<?> constructor;
+  private final MethodHandle handle;
+
+  private ConstructorInstantiator(Constructor<?> constructor, MethodHandle handle) {
+    this.constructor = constructor;
+    this.handle = handle;
+  }
+
+  /**
+   * Creates an instantiator for the given constructor.
+   *
+   * @param constructor
+   *          the constructor to invoke
+   * @return the instantiator, or <code>null</code> if the constructor is not accessible
+   */
+  public static ConstructorInstantiator forConstructor(Constructor<?> constructor) {
+    try {
+      MethodHandle handle;
+      try {
+        handle = MethodHandles.lookup().unreflectConstructor(constructor);
+      } catch (IllegalAccessException e) {
+        if (!Reflector.canControlMemberAccessible()) {
+          return null;
+        }
+        constructor.setAccessible(true);
+        handle = MethodHandles.lookup().unreflectConstructor(constructor);
+      }
+      handle = handle.asSpreader(Object[].class, constructor.getParameterCount()).asType(SPREAD_TYPE);
+      return new ConstructorInstantiator(constructor, handle);
+    } catch (IllegalAccessException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  public Constructor<?> getConstructor() {
+    return constructor;
+  }
+
+  public Class<?>[] getParameterTypes() {
+    return constructor.getParameterTypes();
+  }
+
+  /**
+   * Invokes the constructor.
+   *
+   * @param args
+   *          the constructor arguments, one per parameter
+   * @return the new instance
+   */
+  public Object newInstance(Object[] args) {
+    try {
+      return (Object) handle.invokeExact(args);
+    } catch (Throwable t) {
+      String argTypes = Arrays.stream(constructor.getParameterTypes()).map(Class::getSimpleName).collect(Collectors.joining(","));
+      String argValues = Arrays.stream(args).map(String::valueOf).collect(Collectors.joining(","));
+      throw new ReflectionException("Error instantiating " + constructor.getDeclaringClass() + " with invalid types (" + argTypes
+          + ") or values (" + argValues + "). Cause: " + t, t);
+    }
+  }
+}
@@ -28,6 +28,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.apache.ibatis.reflection.ReflectionException;
@@ -40,6 +42,29 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private static final long serialVersionUID = -8855120656740914948L;
 
+  private static final Object[] NO_ARGS = new Object[0];
+
+  private static final ClassLoader CLASS_LOADER = DefaultObjectFactory.class.getClassLoader();
+
+  // 按类型缓存无参构造方法,避免每次通过反射查找构造方法.
+  // 与DefaultReflectorFactory一样,只缓存MyBatis的类加载器及其子加载器加载的类,避免JDK的类引用MyBatis的类加载器.
+  private static final ClassValue<Supplier<Object>> DEFAULT_INSTANTIATORS = new ClassValue<Supplier<Object>>() {
+    @Override
+    protected Supplier<Object> computeValue(Class<?> type) {
+      ConstructorInstantiator instantiator = findInstantiator(type, new Class<?>[0]);
+      return instantiator == null ? null : () -> instantiator.newInstance(NO_ARGS);
+    }
+  };
+
+  // 按类型和参数类型列表缓存有参构造方法.
+  private static final ClassValue<Map<List<Class<?>>, Optional<ConstructorInstantiator>>> INSTANTIATORS =
+      new ClassValue<Map<List<Class<?>>, Optional<ConstructorInstantiator>>>() {
+    @Override
+    protected Map<List<Class<?>>, Optional<ConstructorInstantiator>> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
   @Override
   public <T> T create(Class<T> type) {
     return create(type, null, null);
@@ -53,7 +78,30 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
     return (T) instantiateClass(classToCreate, constructorArgTypes, constructorArgs);
   }
 
+  @SuppressWarnings("unchecked")
   private  <T> T instantiateClass(Class<T> type, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) {
+    if (constructorArgTypes == null || constructorArgs == null) {
+      // 集合类型直接new.
+      if (type == ArrayList.class) {
+        return (T) new ArrayList<>();
+      } else if (type == HashMap.class) {
+        return (T) new HashMap<>();
+      } else if (type == HashSet.class) {
+        return (T) new HashSet<>();
+      } else if (type == TreeSet.class) {
+        return (T) new TreeSet<>();
+      }
+      Supplier<Object> instantiator = isShareable(type) ? DEFAULT_INSTANTIATORS.get(type) : null;
+      if (instantiator != null) {
+        return (T) instantiator.get();
+      }
+    } else if (constructorArgTypes.size() == constructorArgs.size() && isShareable(type)) {
+      ConstructorInstantiator instantiator = getInstantiator(type, constructorArgTypes);
+      if (instantiator != null) {
+        return (T) instantiator.newInstance(constructorArgs.toArray());
+      }
+    }
+    // 构造方法不存在或无法访问时,通过反射调用并报告错误.
     try {
       Constructor<T> constructor;
       if (constructorArgTypes == null || constructorArgs == null) {
@@ -89,6 +137,35 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
     }
   }
 
+  private static ConstructorInstantiator getInstantiator(Class<?> type, List<Class<?>> constructorArgTypes) {
+    Map<List<Class<?>>, Optional<ConstructorInstantiator>> instantiators = INSTANTIATORS.get(type);
+    Optional<ConstructorInstantiator> instantiator = instantiators.get(constructorArgTypes);
+    if (instantiator == null) {
+      // 参数类型列表可能被调用方修改,复制后作为key.
+      List<Class<?>> key = new ArrayList<>(constructorArgTypes);
+      instantiator = Optional.ofNullable(findInstantiator(type, key.toArray(new Class<?>[0])));
+      instantiators.putIfAbsent(key, instantiator);
+    }
+    return instantiator.orElse(null);
+  }
+
+  private static boolean isShareable(Class<?> type) {
+    for (ClassLoader loader = type.getClassLoader(); loader != null; loader = loader.getParent()) {
+      if (loader == CLASS_LOADER) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static ConstructorInstantiator findInstantiator(Class<?> type, Class<?>[] parameterTypes) {
+    try {
+      return ConstructorInstantiator.forConstructor(type.getDeclaredConstructor(parameterTypes));
+    } catch (NoSuchMethodException | SecurityException e) {
+      return null;
+    }
+  }
+
   protected Class<?> resolveInterface(Class<?> type) {
     Class<?> classToCreate;
     if (type == List.class || type == Collection.class || type == Iterable.class) {
@@ -0,0 +1,219 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Creates setters that assign primitive values to properties without boxing them.
+ * <p>
+ * Public methods of public classes that are visible to MyBatis are called through classes generated with
+ * {@link LambdaMetafactory}, which the JIT can inline like a direct call. Other members are accessed through a
+ * {@link MethodHandle}. Static members are not supported, and whenever a setter cannot be created the caller keeps
+ * using the invoker.
+ */
+final class Accessors {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  // 基本类型的setter,避免装箱.
+  interface IntSetter {
+    void set(Object target, int value) throws Throwable;
+  }
+
+  interface LongSetter {
+    void set(Object target, long value) throws Throwable;
+  }
+
+  interface DoubleSetter {
+    void set(Object target, double value) throws Throwable;
+  }
+
+  interface FloatSetter {
+    void set(Object target, float value) throws Throwable;
+  }
+
+  interface ShortSetter {
+    void set(Object target, short value) throws Throwable;
+  }
+
+  interface ByteSetter {
+    void set(Object target, byte value) throws Throwable;
+  }
+
+  interface BooleanSetter {
+    void set(Object target, boolean value) throws Throwable;
+  }
+
+  private Accessors() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * @return an {@code IntSetter}, {@code LongSetter}, etc. matching the primitive parameter type, or {@code null} if
+   *         the parameter is not primitive or the setter cannot be created
+   */
+  static Object primitiveSetter(Method method) {
+    if (Modifier.isStatic(method.getModifiers()) || method.getParameterTypes().length != 1
+        || !method.getParameterTypes()[0].isPrimitive()) {
+      return null;
+    }
+    try {
+      MethodHandle handle = unreflect(method);
+      Class<?> parameterType = method.getParameterTypes()[0];
+      Class<?> setterType = primitiveSetterType(parameterType);
+      if (setterType != null && canGenerate(method, parameterType)) {
+        try {
+          MethodType instantiated = MethodType.methodType(void.class, method.getDeclaringClass(), parameterType);
+          CallSite site = LambdaMetafactory.metafactory(LOOKUP, "set", MethodType.methodType(setterType),
+              MethodType.methodType(void.class, Object.class, parameterType), handle, instantiated);
+          return site.getTarget().invoke();
+        } catch (Throwable e) {
+          // use the method handle
+        }
+      }
+      return primitiveSetter(handle, parameterType);
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return an {@code IntSetter}, {@code LongSetter}, etc. matching the primitive field type, or {@code null} if the
+   *         field is not primitive or the setter cannot be created
+   */
+  static Object primitiveSetter(Field field) {
+    if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers()) || !field.getType().isPrimitive()) {
+      return null;
+    }
+    try {
+      MethodHandle handle;
+      try {
+        handle = LOOKUP.unreflectSetter(field);
+      } catch (IllegalAccessException e) {
+        if (!Reflector.canControlMemberAccessible()) {
+          return null;
+        }
+        field.setAccessible(true);
+        handle = LOOKUP.unreflectSetter(field);
+      }
+      return primitiveSetter(handle, field.getType());
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+  private static Class<?> primitiveSetterType(Class<?> type) {
+    if (type == int.class) {
+      return IntSetter.class;
+    } else if (type == long.class) {
+      return LongSetter.class;
+    } else if (type == double.class) {
+      return DoubleSetter.class;
+    } else if (type == float.class) {
+      return FloatSetter.class;
+    } else if (type == short.class) {
+      return ShortSetter.class;
+    } else if (type == byte.class) {
+      return ByteSetter.class;
+    } else if (type == boolean.class) {
+      return BooleanSetter.class;
+    } else {
+      return null;
+    }
+  }
+
+  private static Object primitiveSetter(MethodHandle handle, Class<?> type) {
+    MethodHandle exact = handle.asType(MethodType.methodType(void.class, Object.class, type));
+    if (type == int.class) {
+      return (IntSetter) (target, value) -> {
+        exact.invokeExact(target, value);
+      };
+    } else if (type == long.class) {
+      return (LongSetter) (target, value) -> {
+        exact.invokeExact(target, value);
+      };
+    } else if (type == double.class) {
+      return (DoubleSetter) (target, value) -> {
+        exact.invokeExact(target, value);
+      };
+    } else if (type == float.class) {
+      return (FloatSetter) (target, value) -> {
+        exact.invokeExact(target, value);
+      };
+    } else if (type == short.class) {
+      return (ShortSetter) (target, value) -> {
+        exact.invokeExact(target, value);
+      };
+    } else if (type == byte.class) {
+      return (ByteSetter) (target, value) -> {
+        exact.invokeExact(target, value);
+      };
+    } else if (type == boolean.class) {
+      return (BooleanSetter) (target, value) -> {
+        exact.invokeExact(target, value);
+      };
+    } else {
+      return null;
+    }
+  }
+
+  private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+    try {
+      return LOOKUP.unreflect(method);
+    } catch (IllegalAccessException e) {
+      if (!Reflector.canControlMemberAccessible()) {
+        throw e;
+      }
+      method.setAccessible(true);
+      return LOOKUP.unreflect(method);
+    }
+  }
+
+  /**
+   * The generated class is defined by the class loader of MyBatis and calls the method directly, so the method
+   * must be public and the classes it uses must be visible to that class loader.
+   */
+  private static boolean canGenerate(Method method, Class<?> valueType) {
+    Class<?> declaringClass = method.getDeclaringClass();
+    return Modifier.isPublic(method.getModifiers()) && Modifier.isPublic(declaringClass.getModifiers())
+        && isVisible(declaringClass) && isVisible(valueType);
+  }
+
+  private static boolean isVisible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive()) {
+      return true;
+    }
+    try {
+      return Class.forName(type.getName(), false, Accessors.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+}
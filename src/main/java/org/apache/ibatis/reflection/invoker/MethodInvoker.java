@@ -52,6 +52,10 @@ public class MethodInvoker implements Invoker {
     }
   }
 
+  Method getMethod() {
+    return method;
+  }
+
   @Override
   public Class<?> getType() {
     return type;
@@ -0,0 +1,92 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+/**
+ * Sets a primitive property without boxing the value.
+ * <p>
+ * Only the method matching {@link #getType()} may be called, e.g. {@link #setInt(Object, int)} for an {@code int}
+ * property. Exceptions thrown by the setter are rethrown as is.
+ *
+ * @since 3.5.7
+ */
+public final class PrimitiveSetter {
+
+  private final Class<?> type;
+  // 与type对应的Accessors.IntSetter,Accessors.LongSetter等.
+  private final Object setter;
+
+  private PrimitiveSetter(Class<?> type, Object setter) {
+    this.type = type;
+    this.setter = setter;
+  }
+
+  /**
+   * Creates a primitive setter that sets the property the same way as the invoker.
+   *
+   * @param invoker
+   *          the set invoker of a property, e.g. from {@link org.apache.ibatis.reflection.Reflector#getSetInvoker(String)}
+   * @return the primitive setter, or {@code null} if the property is not primitive or the invoker is not a plain
+   *         setter method or field
+   */
+  public static PrimitiveSetter forInvoker(Invoker invoker) {
+    Object setter;
+    if (invoker.getClass() == MethodInvoker.class) {
+      setter = Accessors.primitiveSetter(((MethodInvoker) invoker).getMethod());
+    } else if (invoker.getClass() == SetFieldInvoker.class) {
+      setter = Accessors.primitiveSetter(((SetFieldInvoker) invoker).getField());
+    } else {
+      setter = null;
+    }
+    return setter == null ? null : new PrimitiveSetter(invoker.getType(), setter);
+  }
+
+  /**
+   * @return the primitive type of the property
+   */
+  public Class<?> getType() {
+    return type;
+  }
+
+  public void setInt(Object target, int value) throws Throwable {
+    ((Accessors.IntSetter) setter).set(target, value);
+  }
+
+  public void setLong(Object target, long value) throws Throwable {
+    ((Accessors.LongSetter) setter).set(target, value);
+  }
+
+  public void setDouble(Object target, double value) throws Throwable {
+    ((Accessors.DoubleSetter) setter).set(target, value);
+  }
+
+  public void setFloat(Object target, float value) throws Throwable {
+    ((Accessors.FloatSetter) setter).set(target, value);
+  }
+
+  public void setShort(Object target, short value) throws Throwable {
+    ((Accessors.ShortSetter) setter).set(target, value);
+  }
+
+  public void setByte(Object target, byte value) throws Throwable {
+    ((Accessors.ByteSetter) setter).set(target, value);
+  }
+
+  public void setBoolean(Object target, boolean value) throws Throwable {
+    ((Accessors.BooleanSetter) setter).set(target, value);
+  }
+
+}
@@ -44,6 +44,10 @@ public class SetFieldInvoker implements Invoker {
     return null;
   }
 
+  Field getField() {
+    return field;
+  }
+
   @Override
   public Class<?> getType() {
     return field.getType();
@@ -43,10 +43,30 @@ public abstract class BaseWrapper implements ObjectWrapper {
   }
 
   protected Object getCollectionValue(PropertyTokenizer prop, Object collection) {
+    return getCollectionValue(prop.getName(), prop.getIndex(), collection);
+  }
+
+  protected void setCollectionValue(PropertyTokenizer prop, Object collection, Object value) {
+    setCollectionValue(prop.getName(), prop.getIndex(), collection, value);
+  }
+
+  /**
+   * Gets an element of a map, list or array.
+   *
+   * @param name
+   *          the name of the property holding the collection, used in the error message
+   * @param index
+   *          the map key or the list/array index
+   * @param collection
+   *          the collection
+   * @return the element
+   * @since 3.5.7
+   */
+  public static Object getCollectionValue(String name, String index, Object collection) {
     if (collection instanceof Map) {
-      return ((Map) collection).get(prop.getIndex());
+      return ((Map) collection).get(index);
     } else {
-      int i = Integer.parseInt(prop.getIndex());
+      int i = Integer.parseInt(index);
       if (collection instanceof List) {
         return ((List) collection).get(i);
       } else if (collection instanceof Object[]) {
@@ -68,16 +88,29 @@ public abstract class BaseWrapper implements ObjectWrapper {
       } else if (collection instanceof short[]) {
         return ((short[]) collection)[i];
       } else {
-        throw new ReflectionException("The '" + prop.getName() + "' property of " + collection + " is not a List or Array.");
+        throw new ReflectionException("The '" + name + "' property of " + collection + " is not a List or Array.");
       }
     }
   }
 
-  protected void setCollectionValue(PropertyTokenizer prop, Object collection, Object value) {
+  /**
+   * Sets an element of a map, list or array.
+   *
+   * @param name
+   *          the name of the property holding the collection, used in the error message
+   * @param index
+   *          the map key or the list/array index
+   * @param collection
+   *          the collection
+   * @param value
+   *          the element
+   * @since 3.5.7
+   */
+  public static void setCollectionValue(String name, String index, Object collection, Object value) {
     if (collection instanceof Map) {
-      ((Map) collection).put(prop.getIndex(), value);
+      ((Map) collection).put(index, value);
     } else {
-      int i = Integer.parseInt(prop.getIndex());
+      int i = Integer.parseInt(index);
       if (collection instanceof List) {
         ((List) collection).set(i, value);
       } else if (collection instanceof Object[]) {
@@ -99,7 +132,7 @@ public abstract class BaseWrapper implements ObjectWrapper {
       } else if (collection instanceof short[]) {
         ((short[]) collection)[i] = (Short) value;
       } else {
-        throw new ReflectionException("The '" + prop.getName() + "' property of " + collection + " is not a List or Array.");
+        throw new ReflectionException("The '" + name + "' property of " + collection + " is not a List or Array.");
       }
     }
   }
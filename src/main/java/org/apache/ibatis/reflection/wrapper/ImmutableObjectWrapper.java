@@ -0,0 +1,152 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.wrapper;
+
+import java.util.List;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+
+/**
+ * Collects the component values of an immutable object until {@link #build()} creates it.
+ * <p>
+ * As it is an {@link ObjectWrapper}, {@link MetaObject#forObject} uses it as is, so the values can be set through a
+ * {@link MetaObject} like the properties of a bean. Only the components themselves can be set, nested property
+ * paths are not supported because the component values do not exist yet.
+ *
+ * @see ImmutableType#newWrapper()
+ * @since 3.5.7
+ */
+public final class ImmutableObjectWrapper implements ObjectWrapper {
+
+  private final ImmutableType type;
+  private final Object[] args;
+  private final boolean[] assigned;
+
+  ImmutableObjectWrapper(ImmutableType type) {
+    this.type = type;
+    this.args = new Object[type.size()];
+    this.assigned = new boolean[args.length];
+  }
+
+  public Class<?> getType() {
+    return type.getType();
+  }
+
+  /**
+   * Creates the object from the values set so far. Components that were not set are {@code null}, or the default
+   * value of primitive types.
+   *
+   * @return the new object
+   */
+  public Object build() {
+    return type.build(args.clone(), assigned);
+  }
+
+  @Override
+  public Object get(PropertyTokenizer prop) {
+    Object value = args[getterIndex(prop.getName())];
+    if (prop.getIndex() != null) {
+      return BaseWrapper.getCollectionValue(prop.getName(), prop.getIndex(), value);
+    }
+    return value;
+  }
+
+  @Override
+  public void set(PropertyTokenizer prop, Object value) {
+    int index = setterIndex(prop.getName());
+    if (prop.getIndex() != null) {
+      BaseWrapper.setCollectionValue(prop.getName(), prop.getIndex(), args[index], value);
+    } else {
+      args[index] = value;
+      assigned[index] = true;
+    }
+  }
+
+  @Override
+  public String findProperty(String name, boolean useCamelCaseMapping) {
+    return type.findName(useCamelCaseMapping ? name.replace("_", "") : name);
+  }
+
+  @Override
+  public String[] getGetterNames() {
+    return type.getNames();
+  }
+
+  @Override
+  public String[] getSetterNames() {
+    return type.getNames();
+  }
+
+  @Override
+  public Class<?> getSetterType(String name) {
+    return type.getComponentType(setterIndex(name));
+  }
+
+  @Override
+  public Class<?> getGetterType(String name) {
+    return type.getComponentType(getterIndex(name));
+  }
+
+  @Override
+  public boolean hasSetter(String name) {
+    return type.indexOf(name) >= 0;
+  }
+
+  @Override
+  public boolean hasGetter(String name) {
+    return type.indexOf(name) >= 0;
+  }
+
+  @Override
+  public MetaObject instantiatePropertyValue(String name, PropertyTokenizer prop, ObjectFactory objectFactory) {
+    throw new UnsupportedOperationException("Nested properties of immutable objects are not supported: " + name);
+  }
+
+  @Override
+  public boolean isCollection() {
+    return false;
+  }
+
+  @Override
+  public void add(Object element) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public <E> void addAll(List<E> element) {
+    throw new UnsupportedOperationException();
+  }
+
+  private int setterIndex(String name) {
+    int index = type.indexOf(name);
+    if (index < 0) {
+      throw new ReflectionException("There is no setter for property named '" + name + "' in '" + type.getType() + "'");
+    }
+    return index;
+  }
+
+  private int getterIndex(String name) {
+    int index = type.indexOf(name);
+    if (index < 0) {
+      throw new ReflectionException("There is no getter for property named '" + name + "' in '" + type.getType() + "'");
+    }
+    return index;
+  }
+
+}
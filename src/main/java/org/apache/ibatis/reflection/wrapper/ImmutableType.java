@@ -0,0 +1,250 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.wrapper;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.ibatis.reflection.RecordUtil;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.factory.ConstructorInstantiator;
+
+/**
+ * Describes how to build an immutable class from its components: a record through its canonical constructor, or a
+ * class with a static {@code builder()} method through the builder's one-argument methods and {@code build()}.
+ * <p>
+ * The components and their indexes are resolved once per class. Values are accumulated in an
+ * {@link ImmutableObjectWrapper} created by {@link #newWrapper()}, which builds the instance at the end.
+ *
+ * @since 3.5.7
+ */
+public final class ImmutableType {
+
+  private static final ClassValue<ImmutableType> TYPES = new ClassValue<ImmutableType>() {
+    @Override
+    protected ImmutableType computeValue(Class<?> type) {
+      return resolve(type);
+    }
+  };
+
+  private static final MethodType SETTER_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+  private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+  private static final MethodType BUILD_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private final Class<?> type;
+  private final String[] names;
+  private final Class<?>[] types;
+  // 基本类型组件未赋值时使用的默认值,其他组件为null.
+  private final Object[] defaults;
+  private final Map<String, Integer> indexes = new HashMap<>();
+  private final Map<String, String> caseInsensitiveNames = new HashMap<>();
+  // record使用构造方法,其他类使用builder.
+  private final ConstructorInstantiator instantiator;
+  private final MethodHandle builderFactory;
+  private final MethodHandle[] builderSetters;
+  private final MethodHandle builderBuild;
+
+  private ImmutableType(Class<?> type, String[] names, Class<?>[] types, ConstructorInstantiator instantiator,
+      MethodHandle builderFactory, MethodHandle[] builderSetters, MethodHandle builderBuild) {
+    this.type = type;
+    this.names = names;
+    this.types = types;
+    this.defaults = new Object[types.length];
+    for (int i = 0; i < names.length; i++) {
+      indexes.put(names[i], i);
+      caseInsensitiveNames.put(names[i].toUpperCase(Locale.ENGLISH), names[i]);
+      if (types[i].isPrimitive()) {
+        defaults[i] = Array.get(Array.newInstance(types[i], 1), 0);
+      }
+    }
+    this.instantiator = instantiator;
+    this.builderFactory = builderFactory;
+    this.builderSetters = builderSetters;
+    this.builderBuild = builderBuild;
+  }
+
+  /**
+   * @param type
+   *          the class to build
+   * @return the description of the class, or {@code null} if it is neither a record nor a class with a builder
+   */
+  public static ImmutableType forClass(Class<?> type) {
+    return TYPES.get(type);
+  }
+
+  /**
+   * @return a new wrapper collecting the component values of one instance
+   */
+  public ImmutableObjectWrapper newWrapper() {
+    return new ImmutableObjectWrapper(this);
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  int size() {
+    return names.length;
+  }
+
+  String[] getNames() {
+    return names.clone();
+  }
+
+  Class<?> getComponentType(int index) {
+    return types[index];
+  }
+
+  /**
+   * @return the index of the component, or {@code -1} if there is no component with this name
+   */
+  int indexOf(String name) {
+    Integer index = indexes.get(name);
+    return index == null ? -1 : index;
+  }
+
+  String findName(String name) {
+    return caseInsensitiveNames.get(name.toUpperCase(Locale.ENGLISH));
+  }
+
+  Object build(Object[] args, boolean[] assigned) {
+    if (instantiator != null) {
+      for (int i = 0; i < args.length; i++) {
+        if (args[i] == null) {
+          args[i] = defaults[i];
+        }
+      }
+      return instantiator.newInstance(args);
+    }
+    try {
+      Object builder = (Object) builderFactory.invokeExact();
+      for (int i = 0; i < args.length; i++) {
+        // 只调用赋过值的builder方法,其他组件保留builder的默认值.
+        if (assigned[i]) {
+          Object value = args[i] == null ? defaults[i] : args[i];
+          builder = (Object) builderSetters[i].invokeExact(builder, value);
+        }
+      }
+      return (Object) builderBuild.invokeExact(builder);
+    } catch (Throwable t) {
+      throw new ReflectionException("Error building " + type + " through its builder. Cause: " + t, t);
+    }
+  }
+
+  private static ImmutableType resolve(Class<?> type) {
+    if (RecordUtil.isRecord(type)) {
+      return resolveRecord(type);
+    }
+    return resolveBuilder(type);
+  }
+
+  private static ImmutableType resolveRecord(Class<?> type) {
+    Constructor<?> constructor = RecordUtil.getCanonicalConstructor(type);
+    ConstructorInstantiator instantiator = constructor == null ? null : ConstructorInstantiator.forConstructor(constructor);
+    if (instantiator == null) {
+      return null;
+    }
+    return new ImmutableType(type, RecordUtil.getComponentNames(type), constructor.getParameterTypes(), instantiator,
+        null, null, null);
+  }
+
+  private static ImmutableType resolveBuilder(Class<?> type) {
+    if (!Modifier.isPublic(type.getModifiers())) {
+      return null;
+    }
+    try {
+      Method factory = type.getMethod("builder");
+      Class<?> builderType = factory.getReturnType();
+      if (!Modifier.isStatic(factory.getModifiers()) || !Modifier.isPublic(builderType.getModifiers())) {
+        return null;
+      }
+      Method build = builderType.getMethod("build");
+      if (Modifier.isStatic(build.getModifiers()) || !type.isAssignableFrom(build.getReturnType())) {
+        return null;
+      }
+      Map<String, Method> setters = findBuilderSetters(builderType);
+      if (setters.isEmpty()) {
+        return null;
+      }
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      String[] names = new String[setters.size()];
+      Class<?>[] types = new Class<?>[setters.size()];
+      MethodHandle[] handles = new MethodHandle[setters.size()];
+      int i = 0;
+      for (Map.Entry<String, Method> entry : setters.entrySet()) {
+        names[i] = entry.getKey();
+        types[i] = entry.getValue().getParameterTypes()[0];
+        handles[i] = lookup.unreflect(entry.getValue()).asType(SETTER_TYPE);
+        i++;
+      }
+      return new ImmutableType(type, names, types, null, lookup.unreflect(factory).asType(FACTORY_TYPE), handles,
+          lookup.unreflect(build).asType(BUILD_TYPE));
+    } catch (NoSuchMethodException | IllegalAccessException | SecurityException e) {
+      return null;
+    }
+  }
+
+  // builder中返回builder本身的单参数方法,方法名如name,withName或setName都对应属性name.重载的方法无法确定类型,不作为组件.
+  // 按名称排序,使组件下标与getMethods返回的顺序无关.
+  private static Map<String, Method> findBuilderSetters(Class<?> builderType) {
+    Map<String, Method> setters = new TreeMap<>();
+    Set<String> ambiguous = new HashSet<>();
+    List<Method> methods = new ArrayList<>();
+    for (Method method : builderType.getMethods()) {
+      if (!Modifier.isStatic(method.getModifiers()) && method.getParameterCount() == 1
+          && method.getDeclaringClass() != Object.class && !method.isBridge()
+          && builderType.isAssignableFrom(method.getReturnType())) {
+        methods.add(method);
+      }
+    }
+    for (Method method : methods) {
+      String name = toPropertyName(method.getName());
+      if (setters.put(name, method) != null) {
+        ambiguous.add(name);
+      }
+    }
+    setters.keySet().removeAll(ambiguous);
+    return setters;
+  }
+
+  private static String toPropertyName(String methodName) {
+    for (String prefix : new String[] { "with", "set" }) {
+      if (methodName.length() > prefix.length() && methodName.startsWith(prefix)
+          && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+        String name = methodName.substring(prefix.length());
+        if (name.length() == 1 || !Character.isUpperCase(name.charAt(1))) {
+          name = name.substring(0, 1).toLowerCase(Locale.ENGLISH) + name.substring(1);
+        }
+        return name;
+      }
+    }
+    return methodName;
+  }
+
+}
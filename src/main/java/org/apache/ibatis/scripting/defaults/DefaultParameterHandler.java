@@ -25,7 +25,9 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.type.JdbcType;
 import org.apache.ibatis.type.TypeException;
@@ -65,6 +67,13 @@ public class DefaultParameterHandler implements ParameterHandler {
     ErrorContext.instance().activity("setting parameters").object(mappedStatement.getParameterMap().getId());
     List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     if (parameterMappings != null) {
+      // 静态SQL和编译过的动态SQL重复使用同一个参数映射列表,使用缓存的绑定器,避免每次执行都重新判断每个参数的取值方式.
+      Class<?> parameterType = parameterObject == null ? null : parameterObject.getClass();
+      ParameterBinder binder = getParameterBinder(parameterMappings, parameterType);
+      if (binder != null) {
+        binder.bind(ps, boundSql, parameterObject);
+        return;
+      }
       for (int i = 0; i < parameterMappings.size(); i++) {
         ParameterMapping parameterMapping = parameterMappings.get(i);
         if (parameterMapping.getMode() != ParameterMode.OUT) {
@@ -95,4 +104,14 @@ public class DefaultParameterHandler implements ParameterHandler {
     }
   }
 
+  private ParameterBinder getParameterBinder(List<ParameterMapping> parameterMappings, Class<?> parameterType) {
+    SqlSource sqlSource = mappedStatement.getSqlSource();
+    if (sqlSource instanceof RawSqlSource) {
+      return ((RawSqlSource) sqlSource).getParameterBinder(parameterMappings, parameterType);
+    } else if (sqlSource instanceof DynamicSqlSource) {
+      return ((DynamicSqlSource) sqlSource).getParameterBinder(parameterMappings, parameterType);
+    }
+    return null;
+  }
+
 }
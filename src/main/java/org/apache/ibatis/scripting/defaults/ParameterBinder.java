@@ -0,0 +1,155 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.defaults;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.PropertyAccessor;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * Binds the parameters of a prepared statement the same way {@link DefaultParameterHandler} does, with every
+ * decision that only depends on the parameter mappings and the parameter class made once.
+ * <p>
+ * A binder is created for one list of parameter mappings and one parameter class. Only the lists that static
+ * statements and compiled dynamic statements reuse across executions get binders, see {@link ParameterBinderCache}.
+ *
+ * @since 3.5.7
+ */
+public final class ParameterBinder {
+
+  private final Configuration configuration;
+  private final List<ParameterMapping> parameterMappings;
+  private final Class<?> parameterType;
+  // 参数对象本身有TypeHandler时直接绑定参数对象.
+  private final boolean simpleParameter;
+  // 以下数组与parameterMappings一一对应.
+  private final boolean[] outputs;
+  private final String[] properties;
+  private final String[] additionalNames;
+  private final PropertyAccessor[] accessors;
+  private final TypeHandler[] typeHandlers;
+  private final JdbcType[] jdbcTypes;
+
+  /**
+   * @param configuration
+   *          the configuration
+   * @param parameterMappings
+   *          the parameter mappings of the bound sql
+   * @param parameterType
+   *          the class of the parameter object, or {@code null} if the parameter object is {@code null}
+   */
+  public ParameterBinder(Configuration configuration, List<ParameterMapping> parameterMappings, Class<?> parameterType) {
+    this.configuration = configuration;
+    this.parameterMappings = parameterMappings;
+    this.parameterType = parameterType;
+    this.simpleParameter = parameterType != null && configuration.getTypeHandlerRegistry().hasTypeHandler(parameterType);
+    int size = parameterMappings.size();
+    this.outputs = new boolean[size];
+    this.properties = new String[size];
+    this.additionalNames = new String[size];
+    this.accessors = new PropertyAccessor[size];
+    this.typeHandlers = new TypeHandler[size];
+    this.jdbcTypes = new JdbcType[size];
+    for (int i = 0; i < size; i++) {
+      ParameterMapping parameterMapping = parameterMappings.get(i);
+      if (parameterMapping.getMode() == ParameterMode.OUT) {
+        outputs[i] = true;
+        continue;
+      }
+      String property = parameterMapping.getProperty();
+      properties[i] = property;
+      additionalNames[i] = new PropertyTokenizer(property).getName();
+      if (parameterType != null && !simpleParameter) {
+        // 为null时使用MetaObject读取.
+        accessors[i] = configuration.getPropertyAccessor(parameterType, property);
+      }
+      typeHandlers[i] = parameterMapping.getTypeHandler();
+      jdbcTypes[i] = parameterMapping.getJdbcType();
+    }
+  }
+
+  /**
+   * Checks whether this binder was created for the given parameter mappings and parameter class.
+   *
+   * @param parameterMappings
+   *          the parameter mappings, compared by identity
+   * @param parameterType
+   *          the class of the parameter object
+   * @return true if this binder can bind them
+   */
+  public boolean matches(List<ParameterMapping> parameterMappings, Class<?> parameterType) {
+    return this.parameterMappings == parameterMappings && this.parameterType == parameterType;
+  }
+
+  /**
+   * Sets the parameters of the statement.
+   *
+   * @param ps
+   *          the statement
+   * @param boundSql
+   *          the bound sql this binder was created for
+   * @param parameterObject
+   *          the parameter object
+   */
+  public void bind(PreparedStatement ps, BoundSql boundSql, Object parameterObject) {
+    Map<String, Object> additionalParameters = boundSql.getAdditionalParameters();
+    boolean hasAdditionalParameters = additionalParameters != null && !additionalParameters.isEmpty();
+    MetaObject metaObject = null;
+    for (int i = 0; i < outputs.length; i++) {
+      if (outputs[i]) {
+        continue;
+      }
+      Object value;
+      String propertyName = properties[i];
+      if (hasAdditionalParameters && additionalParameters.containsKey(additionalNames[i])) { // issue #448 ask first for additional params
+        value = boundSql.getAdditionalParameter(propertyName);
+      } else if (parameterObject == null) {
+        value = null;
+      } else if (simpleParameter) {
+        value = parameterObject;
+      } else if (accessors[i] != null) {
+        value = accessors[i].getValue(parameterObject, configuration.getReflectorFactory());
+      } else {
+        if (metaObject == null) {
+          metaObject = configuration.newMetaObject(parameterObject);
+        }
+        value = metaObject.getValue(propertyName);
+      }
+      JdbcType jdbcType = jdbcTypes[i];
+      if (value == null && jdbcType == null) {
+        jdbcType = configuration.getJdbcTypeForNull();
+      }
+      try {
+        typeHandlers[i].setParameter(ps, i + 1, value, jdbcType);
+      } catch (TypeException | SQLException e) {
+        throw new TypeException("Could not set parameters for mapping: " + parameterMappings.get(i) + ". Cause: " + e, e);
+      }
+    }
+  }
+
+}
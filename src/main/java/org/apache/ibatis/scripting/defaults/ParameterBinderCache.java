@@ -0,0 +1,70 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.defaults;
+
+import java.util.List;
+
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * The recently used {@link ParameterBinder}s of a list of parameter mappings that is reused across executions, such
+ * as the mappings of a static statement or of a compiled dynamic statement.
+ *
+ * @since 3.5.7
+ */
+public final class ParameterBinderCache {
+
+  private static final int MAX_PARAMETER_BINDERS = 8;
+
+  private final Configuration configuration;
+  private final List<ParameterMapping> parameterMappings;
+  // 最近使用的绑定器,按参数类型区分.
+  private volatile ParameterBinder[] binders = new ParameterBinder[0];
+
+  public ParameterBinderCache(Configuration configuration, List<ParameterMapping> parameterMappings) {
+    this.configuration = configuration;
+    this.parameterMappings = parameterMappings;
+  }
+
+  /**
+   * Gets the binder for a parameter class, creating it if it is not one of the recently used binders.
+   *
+   * @param parameterMappings
+   *          the parameter mappings of the bound sql
+   * @param parameterType
+   *          the class of the parameter object, or {@code null} if the parameter object is {@code null}
+   * @return the parameter binder, or {@code null} if the bound sql does not use the parameter mappings of this cache
+   */
+  public ParameterBinder getParameterBinder(List<ParameterMapping> parameterMappings, Class<?> parameterType) {
+    if (this.parameterMappings != parameterMappings) {
+      return null;
+    }
+    ParameterBinder[] current = binders;
+    for (ParameterBinder binder : current) {
+      if (binder.matches(parameterMappings, parameterType)) {
+        return binder;
+      }
+    }
+    ParameterBinder binder = new ParameterBinder(configuration, parameterMappings, parameterType);
+    ParameterBinder[] newBinders = new ParameterBinder[Math.min(current.length + 1, MAX_PARAMETER_BINDERS)];
+    newBinders[0] = binder;
+    System.arraycopy(current, 0, newBinders, 1, newBinders.length - 1);
+    binders = newBinders;
+    return binder;
+  }
+
+}
@@ -16,9 +16,11 @@
 package org.apache.ibatis.scripting.defaults;
 
 import java.util.HashMap;
+import java.util.List;
 
 import org.apache.ibatis.builder.SqlSourceBuilder;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
 import org.apache.ibatis.scripting.xmltags.DynamicContext;
 import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
@@ -38,6 +40,8 @@ public class RawSqlSource implements SqlSource {
 
   // StaticSqlSource对象,存储了sql字符串.
   private final SqlSource sqlSource;
+  // 每次执行都使用同一个参数映射列表,可以缓存参数绑定器.
+  private final ParameterBinderCache parameterBinders;
 
   public RawSqlSource(Configuration configuration, SqlNode rootSqlNode, Class<?> parameterType) {
     // 调用getSql方法,完成SQL语句的拼装和初步解析.
@@ -50,6 +54,7 @@ public class RawSqlSource implements SqlSource {
     Class<?> clazz = parameterType == null ? Object.class : parameterType;
     // sqlSourceParser.parse()方法返回的是StaticSqlSource.
     sqlSource = sqlSourceParser.parse(sql, clazz, new HashMap<>());
+    parameterBinders = new ParameterBinderCache(configuration, sqlSource.getBoundSql(null).getParameterMappings());
   }
 
   private static String getSql(Configuration configuration, SqlNode rootSqlNode) {
@@ -63,4 +68,18 @@ public class RawSqlSource implements SqlSource {
     return sqlSource.getBoundSql(parameterObject);
   }
 
+  /**
+   * Gets the binder for a bound sql of this source and a parameter class.
+   *
+   * @param parameterMappings
+   *          the parameter mappings of the bound sql
+   * @param parameterType
+   *          the class of the parameter object, or {@code null} if the parameter object is {@code null}
+   * @return the parameter binder, or {@code null} if the bound sql was not created by this source
+   * @since 3.5.7
+   */
+  public ParameterBinder getParameterBinder(List<ParameterMapping> parameterMappings, Class<?> parameterType) {
+    return parameterBinders.getParameterBinder(parameterMappings, parameterType);
+  }
+
 }
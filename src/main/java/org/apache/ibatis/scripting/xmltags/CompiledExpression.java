@@ -0,0 +1,391 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import ognl.ASTAnd;
+import ognl.ASTChain;
+import ognl.ASTConst;
+import ognl.ASTEq;
+import ognl.ASTGreater;
+import ognl.ASTGreaterEq;
+import ognl.ASTLessEq;
+import ognl.ASTMethod;
+import ognl.ASTNot;
+import ognl.ASTNotEq;
+import ognl.ASTOr;
+import ognl.ASTProperty;
+import ognl.Node;
+import ognl.OgnlOps;
+
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+
+/**
+ * Evaluates the common subset of OGNL used in dynamic SQL without interpreting the OGNL tree: constants, property
+ * paths, {@code size()}, {@code isEmpty()}, {@code length()} and {@code trim()}, comparisons, {@code and},
+ * {@code or} and {@code not}.
+ * <p>
+ * Properties are read through {@link Reflector} getters of the reflector factory of the configuration the
+ * {@link DynamicContext} belongs to, and operators use {@link OgnlOps}, so results are the same as OGNL's. Whenever a value is not covered (e.g. a null in the middle of a path, a list or an array), the
+ * evaluation returns {@link #UNSUPPORTED} and the caller evaluates the expression with OGNL instead.
+ *
+ * @see OgnlCache
+ */
+abstract class CompiledExpression {
+
+  static final Object UNSUPPORTED = new Object();
+
+  private static final DynamicContext.ContextAccessor CONTEXT_ACCESSOR = new DynamicContext.ContextAccessor();
+  // MapPropertyAccessor对这些属性名有特殊处理.
+  private static final Set<String> MAP_PSEUDO_PROPERTIES = new HashSet<>(Arrays.asList("size", "keys", "keySet", "values", "isEmpty"));
+
+  /**
+   * Evaluates the expression.
+   *
+   * @param root
+   *          the root object, usually the bindings of a {@link DynamicContext}
+   * @return the value, or {@link #UNSUPPORTED} if OGNL has to evaluate the expression
+   */
+  final Object getValue(Object root) {
+    // 没有所属配置时不读取JavaBean属性,避免类被共享的Reflector缓存一直引用.
+    ReflectorFactory reflectorFactory = root instanceof DynamicContext.ContextMap ? ((DynamicContext.ContextMap) root).getReflectorFactory() : null;
+    return getValue(root, reflectorFactory);
+  }
+
+  abstract Object getValue(Object root, ReflectorFactory reflectorFactory);
+
+  /**
+   * Compiles a parsed OGNL expression.
+   *
+   * @param node
+   *          the expression parsed by OGNL
+   * @return the compiled expression, or {@code null} if the expression uses anything outside the supported subset
+   */
+  static CompiledExpression compile(Object node) {
+    return node instanceof Node ? compileNode((Node) node) : null;
+  }
+
+  private static CompiledExpression compileNode(Node node) {
+    if (node instanceof ASTConst) {
+      return new Constant(((ASTConst) node).getValue());
+    }
+    if (node instanceof ASTProperty || node instanceof ASTMethod) {
+      Step step = compileStep(node);
+      return step == null ? null : new Path(new Step[] { step });
+    }
+    if (node instanceof ASTChain) {
+      Step[] steps = new Step[node.jjtGetNumChildren()];
+      for (int i = 0; i < steps.length; i++) {
+        steps[i] = compileStep(node.jjtGetChild(i));
+        if (steps[i] == null) {
+          return null;
+        }
+      }
+      return new Path(steps);
+    }
+    if (node instanceof ASTAnd || node instanceof ASTOr) {
+      CompiledExpression[] operands = compileChildren(node);
+      return operands == null ? null : new Junction(node instanceof ASTAnd, operands);
+    }
+    if (node instanceof ASTNot) {
+      CompiledExpression[] operands = compileChildren(node);
+      return operands == null || operands.length != 1 ? null : new Not(operands[0]);
+    }
+    Operator operator = Operator.of(node);
+    if (operator != null) {
+      CompiledExpression[] operands = compileChildren(node);
+      return operands == null || operands.length != 2 ? null : new Comparison(operator, operands[0], operands[1]);
+    }
+    return null;
+  }
+
+  private static CompiledExpression[] compileChildren(Node node) {
+    CompiledExpression[] children = new CompiledExpression[node.jjtGetNumChildren()];
+    for (int i = 0; i < children.length; i++) {
+      children[i] = compileNode(node.jjtGetChild(i));
+      if (children[i] == null) {
+        return null;
+      }
+    }
+    return children;
+  }
+
+  private static Step compileStep(Node node) {
+    if (node instanceof ASTProperty) {
+      ASTProperty property = (ASTProperty) node;
+      if (property.isIndexedAccess() || property.jjtGetNumChildren() != 1 || !(property.jjtGetChild(0) instanceof ASTConst)) {
+        return null;
+      }
+      Object name = ((ASTConst) property.jjtGetChild(0)).getValue();
+      return name instanceof String ? new PropertyStep((String) name) : null;
+    }
+    if (node instanceof ASTMethod) {
+      ASTMethod method = (ASTMethod) node;
+      return method.jjtGetNumChildren() == 0 && MethodStep.supports(method.getMethodName()) ? new MethodStep(method.getMethodName()) : null;
+    }
+    return null;
+  }
+
+  private interface Step {
+    Object apply(Object target, ReflectorFactory reflectorFactory);
+  }
+
+  private static final class Constant extends CompiledExpression {
+    private final Object value;
+
+    Constant(Object value) {
+      this.value = value;
+    }
+
+    @Override
+    Object getValue(Object root, ReflectorFactory reflectorFactory) {
+      return value;
+    }
+  }
+
+  private static final class Path extends CompiledExpression {
+    private final Step[] steps;
+
+    Path(Step[] steps) {
+      this.steps = steps;
+    }
+
+    @Override
+    Object getValue(Object root, ReflectorFactory reflectorFactory) {
+      Object value = root;
+      for (Step step : steps) {
+        value = step.apply(value, reflectorFactory);
+        if (value == UNSUPPORTED) {
+          break;
+        }
+      }
+      return value;
+    }
+  }
+
+  private static final class PropertyStep implements Step {
+    private final String name;
+    // 上一次解析的类型和getter,同一位置的表达式通常总是作用于同一类型.
+    private volatile ResolvedGetter resolved;
+
+    PropertyStep(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Object apply(Object target, ReflectorFactory reflectorFactory) {
+      if (target == null) {
+        return UNSUPPORTED;
+      }
+      try {
+        if (target instanceof DynamicContext.ContextMap) {
+          return CONTEXT_ACCESSOR.getProperty(null, target, name);
+        }
+        if (target instanceof Map) {
+          return MAP_PSEUDO_PROPERTIES.contains(name) ? UNSUPPORTED : ((Map<?, ?>) target).get(name);
+        }
+        if (reflectorFactory == null || target instanceof Collection || target instanceof Iterator
+            || target instanceof Enumeration || target instanceof Class || target.getClass().isArray()) {
+          return UNSUPPORTED;
+        }
+        Invoker invoker = getInvoker(target.getClass(), reflectorFactory);
+        return invoker == null ? UNSUPPORTED : invoker.invoke(target, null);
+      } catch (Exception e) {
+        // let OGNL report the failure
+        return UNSUPPORTED;
+      }
+    }
+
+    private Invoker getInvoker(Class<?> type, ReflectorFactory reflectorFactory) {
+      ResolvedGetter getter = resolved;
+      if (getter == null || getter.type != type) {
+        Reflector reflector = reflectorFactory.findForClass(type);
+        getter = new ResolvedGetter(type, reflector.hasGetter(name) ? reflector.getGetInvoker(name) : null);
+        resolved = getter;
+      }
+      return getter.invoker;
+    }
+  }
+
+  private static final class ResolvedGetter {
+    private final Class<?> type;
+    private final Invoker invoker;
+
+    ResolvedGetter(Class<?> type, Invoker invoker) {
+      this.type = type;
+      this.invoker = invoker;
+    }
+  }
+
+  private static final class MethodStep implements Step {
+    private final String name;
+
+    MethodStep(String name) {
+      this.name = name;
+    }
+
+    static boolean supports(String name) {
+      return "size".equals(name) || "isEmpty".equals(name) || "length".equals(name) || "trim".equals(name);
+    }
+
+    @Override
+    public Object apply(Object target, ReflectorFactory reflectorFactory) {
+      switch (name) {
+        case "size":
+          if (target instanceof Collection) {
+            return ((Collection<?>) target).size();
+          }
+          return target instanceof Map ? (Object) ((Map<?, ?>) target).size() : UNSUPPORTED;
+        case "isEmpty":
+          if (target instanceof Collection) {
+            return ((Collection<?>) target).isEmpty();
+          }
+          if (target instanceof Map) {
+            return ((Map<?, ?>) target).isEmpty();
+          }
+          return target instanceof String ? (Object) ((String) target).isEmpty() : UNSUPPORTED;
+        case "length":
+          return target instanceof String ? (Object) ((String) target).length() : UNSUPPORTED;
+        case "trim":
+          return target instanceof String ? ((String) target).trim() : UNSUPPORTED;
+        default:
+          return UNSUPPORTED;
+      }
+    }
+  }
+
+  private static final class Junction extends CompiledExpression {
+    private final boolean and;
+    private final CompiledExpression[] operands;
+
+    Junction(boolean and, CompiledExpression[] operands) {
+      this.and = and;
+      this.operands = operands;
+    }
+
+    @Override
+    Object getValue(Object root, ReflectorFactory reflectorFactory) {
+      // 与OGNL相同,返回最后一个被计算的操作数的值.
+      Object result = null;
+      for (int i = 0; i < operands.length; i++) {
+        result = operands[i].getValue(root, reflectorFactory);
+        if (result == UNSUPPORTED) {
+          break;
+        }
+        if (i < operands.length - 1 && OgnlOps.booleanValue(result) != and) {
+          break;
+        }
+      }
+      return result;
+    }
+  }
+
+  private static final class Not extends CompiledExpression {
+    private final CompiledExpression operand;
+
+    Not(CompiledExpression operand) {
+      this.operand = operand;
+    }
+
+    @Override
+    Object getValue(Object root, ReflectorFactory reflectorFactory) {
+      Object value = operand.getValue(root, reflectorFactory);
+      if (value == UNSUPPORTED) {
+        return UNSUPPORTED;
+      }
+      return OgnlOps.booleanValue(value) ? Boolean.FALSE : Boolean.TRUE;
+    }
+  }
+
+  private enum Operator {
+    EQ, NOT_EQ, LESS, GREATER, LESS_EQ, GREATER_EQ;
+
+    static Operator of(Node node) {
+      if (node instanceof ASTEq) {
+        return EQ;
+      } else if (node instanceof ASTNotEq) {
+        return NOT_EQ;
+      } else if ("ognl.ASTLess".equals(node.getClass().getName())) {
+        // ASTLess is not public
+        return LESS;
+      } else if (node instanceof ASTGreater) {
+        return GREATER;
+      } else if (node instanceof ASTLessEq) {
+        return LESS_EQ;
+      } else if (node instanceof ASTGreaterEq) {
+        return GREATER_EQ;
+      }
+      return null;
+    }
+
+    boolean apply(Object left, Object right) {
+      switch (this) {
+        case EQ:
+          return OgnlOps.equal(left, right);
+        case NOT_EQ:
+          return !OgnlOps.equal(left, right);
+        case LESS:
+          return OgnlOps.less(left, right);
+        case GREATER:
+          return OgnlOps.greater(left, right);
+        case LESS_EQ:
+          return !OgnlOps.greater(left, right);
+        default:
+          return !OgnlOps.less(left, right);
+      }
+    }
+  }
+
+  private static final class Comparison extends CompiledExpression {
+    private final Operator operator;
+    private final CompiledExpression left;
+    private final CompiledExpression right;
+
+    Comparison(Operator operator, CompiledExpression left, CompiledExpression right) {
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    Object getValue(Object root, ReflectorFactory reflectorFactory) {
+      Object leftValue = left.getValue(root, reflectorFactory);
+      if (leftValue == UNSUPPORTED) {
+        return UNSUPPORTED;
+      }
+      Object rightValue = right.getValue(root, reflectorFactory);
+      if (rightValue == UNSUPPORTED) {
+        return UNSUPPORTED;
+      }
+      try {
+        return operator.apply(leftValue, rightValue) ? Boolean.TRUE : Boolean.FALSE;
+      } catch (RuntimeException e) {
+        // let OGNL report the failure
+        return UNSUPPORTED;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,715 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.ibatis.builder.ParameterExpression;
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.parsing.GenericTokenParser;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.scripting.defaults.ParameterBinder;
+import org.apache.ibatis.scripting.defaults.ParameterBinderCache;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Sql source that renders dynamic SQL with steps compiled from the sql node tree when the mapper is loaded.
+ * <p>
+ * The text of the nodes is split at the {@code #{}} placeholders beforehand, so rendering appends text that already
+ * contains the {@code ?} placeholders and only records which parameter each of them binds. Tests, bindings, trimming
+ * and iteration are still done by the sql nodes, with the compiled steps as their contents. No SQL is parsed at runtime,
+ * {@code <foreach>} needs no regular expressions to rename its items, and the parameter mapping of each
+ * placeholder is reused while the parameter types stay the same. Executions that produce the same parameter mappings
+ * share one list of them, so their parameters are set through a cached {@link ParameterBinder}. The SQL, parameter
+ * mappings and additional parameters are the same as those of an interpreted {@link DynamicSqlSource}.
+ *
+ * @see DynamicSqlSource
+ * @see CompiledXMLLanguageDriver
+ */
+public class CompiledSqlSource implements SqlSource {
+
+  // 预先拆分#{}占位符时用来标记占位符位置的字符.
+  private static final char PLACEHOLDER_MARK = '\u0000';
+  // 共用的参数映射列表的数量上限,超过后新的组合每次使用新列表,不再有参数绑定器.
+  private static final int MAX_PARAMETER_MAPPING_LISTS = 256;
+  // 每个占位符按参数名缓存的ParameterMapping数量上限(foreach的每个元素使用不同的参数名).
+  private static final int MAX_RESOLUTIONS = 256;
+
+  private final Configuration configuration;
+  private final SqlSourceBuilder sqlSourceBuilder;
+  private final Step root;
+  // foreach的最大嵌套层数.
+  private final int foreachDepth;
+  // 元素逐个相同的参数映射列表 -> 第一次出现的列表,之后的执行共用它.
+  private final ConcurrentMap<ParameterMappings, List<ParameterMapping>> parameterMappingLists = new ConcurrentHashMap<>();
+  // 共用的参数映射列表 -> 参数绑定器.只在添加列表时复制替换,查找时不需要加锁.
+  private volatile Map<List<ParameterMapping>, ParameterBinderCache> parameterBinders = Collections.emptyMap();
+
+  private CompiledSqlSource(Configuration configuration, Step root, int foreachDepth) {
+    this.configuration = configuration;
+    this.sqlSourceBuilder = new SqlSourceBuilder(configuration);
+    this.root = root;
+    this.foreachDepth = foreachDepth;
+  }
+
+  /**
+   * Compiles a tree of the sql nodes created by {@link XMLScriptBuilder}.
+   *
+   * @param configuration
+   *          the configuration
+   * @param rootSqlNode
+   *          the root sql node
+   * @return the compiled sql source, or {@code null} if the tree contains nodes that cannot be compiled, e.g. custom
+   *         sql nodes or text that builds a placeholder across several nodes
+   */
+  public static CompiledSqlSource compile(Configuration configuration, SqlNode rootSqlNode) {
+    Compiler compiler = new Compiler();
+    Step root = compiler.compile(rootSqlNode, Collections.emptyList());
+    return root == null ? null : new CompiledSqlSource(configuration, root, compiler.foreachDepth);
+  }
+
+  @Override
+  public BoundSql getBoundSql(Object parameterObject) {
+    StringBuilder sqlBuffer = DynamicSqlSource.acquireSqlBuffer();
+    try {
+      Renderer renderer = new Renderer(this, parameterObject, sqlBuffer);
+      root.apply(renderer, renderer.context);
+      return renderer.toBoundSql();
+    } finally {
+      DynamicSqlSource.releaseSqlBuffer(sqlBuffer);
+    }
+  }
+
+  /**
+   * Gets the binder for a bound sql of this source and a parameter class.
+   *
+   * @param parameterMappings
+   *          the parameter mappings of the bound sql
+   * @param parameterType
+   *          the class of the parameter object, or {@code null} if the parameter object is {@code null}
+   * @return the parameter binder, or {@code null} if the parameter mappings are not shared by other executions
+   */
+  public ParameterBinder getParameterBinder(List<ParameterMapping> parameterMappings, Class<?> parameterType) {
+    ParameterBinderCache binders = parameterBinders.get(parameterMappings);
+    return binders == null ? null : binders.getParameterBinder(parameterMappings, parameterType);
+  }
+
+  private List<ParameterMapping> share(List<ParameterMapping> parameterMappings) {
+    ParameterMappings key = new ParameterMappings(parameterMappings);
+    List<ParameterMapping> shared = parameterMappingLists.get(key);
+    if (shared == null && parameterMappingLists.size() < MAX_PARAMETER_MAPPING_LISTS) {
+      shared = parameterMappingLists.putIfAbsent(key, parameterMappings);
+      if (shared == null) {
+        addParameterBinders(parameterMappings);
+        return parameterMappings;
+      }
+    }
+    return shared == null ? parameterMappings : shared;
+  }
+
+  // 列表数量有上限且只增加不删除,复制整个映射的代价可以接受.
+  private synchronized void addParameterBinders(List<ParameterMapping> parameterMappings) {
+    Map<List<ParameterMapping>, ParameterBinderCache> binders = new IdentityHashMap<>(parameterBinders);
+    binders.put(parameterMappings, new ParameterBinderCache(configuration, parameterMappings));
+    parameterBinders = binders;
+  }
+
+  /**
+   * Text that could form a placeholder together with the text appended before or after it is not compiled.
+   */
+  private static boolean mayJoinPlaceholder(String text) {
+    return text != null && (text.contains("#{") || text.endsWith("#") || text.endsWith("\\"));
+  }
+
+  private static final class Compiler {
+    private int foreachDepth;
+
+    Step compile(SqlNode node, List<ForEachSqlNode> enclosing) {
+      // 只编译XMLScriptBuilder创建的节点,子类可能改变了节点的行为.
+      Class<?> type = node.getClass();
+      if (type == MixedSqlNode.class) {
+        List<SqlNode> contents = ((MixedSqlNode) node).getContents();
+        Step[] steps = new Step[contents.size()];
+        for (int i = 0; i < steps.length; i++) {
+          steps[i] = compile(contents.get(i), enclosing);
+          if (steps[i] == null) {
+            return null;
+          }
+        }
+        return new MixedStep(steps);
+      }
+      if (type == StaticTextSqlNode.class) {
+        return TextStep.split(((StaticTextSqlNode) node).getText(), enclosing);
+      }
+      if (type == TextSqlNode.class) {
+        return compileText((TextSqlNode) node, enclosing);
+      }
+      if (type == IfSqlNode.class) {
+        IfSqlNode ifNode = (IfSqlNode) node;
+        Step contents = compile(ifNode.getContents(), enclosing);
+        return contents == null ? null : new IfStep(ifNode, contents);
+      }
+      if (type == ChooseSqlNode.class) {
+        return compileChoose((ChooseSqlNode) node, enclosing);
+      }
+      if (type == VarDeclSqlNode.class) {
+        return new BindStep(node);
+      }
+      if (type == TrimSqlNode.class || type == WhereSqlNode.class || type == SetSqlNode.class) {
+        return compileTrim((TrimSqlNode) node, enclosing);
+      }
+      if (type == ForEachSqlNode.class) {
+        return compileForEach((ForEachSqlNode) node, enclosing);
+      }
+      return null;
+    }
+
+    private Step compileText(TextSqlNode node, List<ForEachSqlNode> enclosing) {
+      String[] literals = node.getLiterals();
+      if (literals == null) {
+        return null;
+      }
+      TextStep[] parts = new TextStep[literals.length];
+      for (int i = 0; i < parts.length; i++) {
+        parts[i] = TextStep.split(literals[i], enclosing);
+        if (parts[i] == null) {
+          return null;
+        }
+      }
+      return new DynamicTextStep(node, parts, enclosing);
+    }
+
+    private Step compileChoose(ChooseSqlNode node, List<ForEachSqlNode> enclosing) {
+      List<SqlNode> ifSqlNodes = node.getIfSqlNodes();
+      Step[] whens = new Step[ifSqlNodes.size()];
+      for (int i = 0; i < whens.length; i++) {
+        whens[i] = compile(ifSqlNodes.get(i), enclosing);
+        if (whens[i] == null) {
+          return null;
+        }
+      }
+      Step otherwise = null;
+      if (node.getDefaultSqlNode() != null) {
+        otherwise = compile(node.getDefaultSqlNode(), enclosing);
+        if (otherwise == null) {
+          return null;
+        }
+      }
+      return new ChooseStep(whens, otherwise);
+    }
+
+    private Step compileTrim(TrimSqlNode node, List<ForEachSqlNode> enclosing) {
+      if (mayJoinPlaceholder(node.getPrefix()) || mayJoinPlaceholder(node.getSuffix())
+          || !canOverride(node.getPrefixesToOverride()) || !canOverride(node.getSuffixesToOverride())) {
+        return null;
+      }
+      Step contents = compile(node.getContents(), enclosing);
+      return contents == null ? null : new TrimStep(node, contents);
+    }
+
+    /**
+     * Overrides are compared with text that contains {@code ?} instead of the placeholders. They must not match any
+     * part of a placeholder to give the same result.
+     */
+    private static boolean canOverride(List<String> overrides) {
+      if (overrides != null) {
+        for (String override : overrides) {
+          if (override.indexOf('#') >= 0 || override.indexOf('}') >= 0 || override.indexOf('?') >= 0) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    private Step compileForEach(ForEachSqlNode node, List<ForEachSqlNode> enclosing) {
+      if (mayJoinPlaceholder(node.getOpen()) || mayJoinPlaceholder(node.getClose())
+          || mayJoinPlaceholder(node.getSeparator())) {
+        return null;
+      }
+      List<ForEachSqlNode> nested = new ArrayList<>(enclosing);
+      nested.add(node);
+      foreachDepth = Math.max(foreachDepth, nested.size());
+      Step contents = compile(node.getContents(), nested);
+      return contents == null ? null : new ForEachStep(node, contents, enclosing.size());
+    }
+  }
+
+  /**
+   * A {@code #{}} placeholder. Inside a {@code <foreach>}, placeholders that refer to the item or the index are
+   * bound to the {@code __frch_} name of the current element, like {@link ForEachSqlNode} rewrites them.
+   */
+  private static final class ParameterToken {
+    private final String content;
+    // 解析失败或使用表达式时为null,此时每次都按原内容创建ParameterMapping,由SqlSourceBuilder报告错误.
+    private final String property;
+    // 引用的foreach的item或index名称,以及该foreach所在的层级.
+    private final String variable;
+    private final int frame;
+    // 内容中variable之后的部分.
+    private final String tail;
+    // 参数名 -> 创建的ParameterMapping及创建时的类型,类型不变时直接复用.
+    private final ConcurrentMap<String, Resolution> resolutions = new ConcurrentHashMap<>();
+    // 最近一次创建的ParameterMapping,foreach的其他元素可以由它复制得到.
+    private volatile Resolution last;
+
+    ParameterToken(String content, List<ForEachSqlNode> enclosing) {
+      this.content = content;
+      this.property = parseProperty(content);
+      String found = null;
+      int foundFrame = -1;
+      // 与ForEachSqlNode相同,由内向外查找,item优先于index.
+      for (int i = enclosing.size() - 1; i >= 0 && found == null; i--) {
+        ForEachSqlNode forEach = enclosing.get(i);
+        if (refersTo(content, forEach.getItem())) {
+          found = forEach.getItem();
+        } else if (refersTo(content, forEach.getIndex())) {
+          found = forEach.getIndex();
+        }
+        foundFrame = i;
+      }
+      this.variable = found;
+      this.frame = found == null ? -1 : foundFrame;
+      this.tail = found == null ? null : content.substring(skipWhitespace(content) + found.length());
+    }
+
+    /**
+     * Creates the placeholder of a positionally bound {@code <foreach>}, whose item is replaced with
+     * {@code __frch_item_N[i]}.
+     */
+    ParameterToken(String item, String suffix) {
+      this.content = item + suffix;
+      this.property = parseProperty(content);
+      this.variable = item;
+      this.frame = -1;
+      this.tail = suffix;
+    }
+
+    private static String parseProperty(String content) {
+      try {
+        return new ParameterExpression(content).get("property");
+      } catch (RuntimeException e) {
+        return null;
+      }
+    }
+
+    // 等价于ForEachSqlNode中的正则表达式 ^\s*name(?![^.,:\s]).
+    private static boolean refersTo(String content, String name) {
+      if (name == null) {
+        return false;
+      }
+      int start = skipWhitespace(content);
+      if (!content.startsWith(name, start)) {
+        return false;
+      }
+      int end = start + name.length();
+      if (end == content.length()) {
+        return true;
+      }
+      char next = content.charAt(end);
+      return next == '.' || next == ',' || next == ':' || isWhitespace(next);
+    }
+
+    private static int skipWhitespace(String content) {
+      int i = 0;
+      while (i < content.length() && isWhitespace(content.charAt(i))) {
+        i++;
+      }
+      return i;
+    }
+
+    private static boolean isWhitespace(char c) {
+      return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    ParameterMapping resolve(CompiledSqlSource source, String replacement, Class<?> parameterType,
+        Map<String, Object> bindings, MetaObject metaBindings) {
+      String resolvedContent = replacement == null ? content : replacement + tail;
+      if (property == null) {
+        return source.sqlSourceBuilder.buildParameterMapping(resolvedContent, parameterType, bindings);
+      }
+      String resolvedProperty = replacement == null ? property : replacement + property.substring(variable.length());
+      // 与SqlSourceBuilder相同,属性类型优先从bindings中获取,否则只由参数类型决定.
+      Class<?> bindingType = ForEachSqlNode.getPositionalItemType(bindings, resolvedProperty);
+      if (bindingType == null && metaBindings.hasGetter(resolvedProperty)) {
+        bindingType = metaBindings.getGetterType(resolvedProperty);
+      }
+      Resolution resolution = resolutions.get(resolvedProperty);
+      if (resolution != null && resolution.matches(parameterType, bindingType)) {
+        return resolution.mapping;
+      }
+      Resolution previous = last;
+      ParameterMapping mapping;
+      // 类型从bindings中获取时与参数名无关,foreach的其他元素只需要换一个参数名.
+      if (bindingType != null && previous != null && previous.matches(parameterType, bindingType)) {
+        mapping = previous.rename(source.configuration, resolvedProperty);
+      } else {
+        mapping = source.sqlSourceBuilder.buildParameterMapping(resolvedContent, parameterType, bindings);
+      }
+      Resolution created = new Resolution(parameterType, bindingType, mapping);
+      if (resolution != null || resolutions.size() < MAX_RESOLUTIONS) {
+        resolutions.put(resolvedProperty, created);
+      }
+      last = created;
+      return mapping;
+    }
+  }
+
+  private static final class Resolution {
+    private final Class<?> parameterType;
+    private final Class<?> bindingType;
+    private final ParameterMapping mapping;
+
+    Resolution(Class<?> parameterType, Class<?> bindingType, ParameterMapping mapping) {
+      this.parameterType = parameterType;
+      this.bindingType = bindingType;
+      this.mapping = mapping;
+    }
+
+    boolean matches(Class<?> parameterType, Class<?> bindingType) {
+      return this.parameterType == parameterType && this.bindingType == bindingType;
+    }
+
+    // foreach的每个元素使用不同的参数名,其他属性都相同.
+    ParameterMapping rename(Configuration configuration, String property) {
+      return new ParameterMapping.Builder(configuration, property, mapping.getTypeHandler())
+          .javaType(mapping.getJavaType())
+          .jdbcType(mapping.getJdbcType())
+          .mode(mapping.getMode())
+          .numericScale(mapping.getNumericScale())
+          .resultMapId(mapping.getResultMapId())
+          .jdbcTypeName(mapping.getJdbcTypeName())
+          .expression(mapping.getExpression())
+          .build();
+    }
+  }
+
+  /**
+   * State of one rendering.
+   */
+  private static final class Renderer {
+    private final CompiledSqlSource source;
+    private final Object parameterObject;
+    private final DynamicContext context;
+    // 各层foreach当前元素的编号.
+    private final int[] foreachNumbers;
+    private final List<ParameterToken> tokens = new ArrayList<>();
+    // 与tokens一一对应,替换item或index的参数名,不需要替换时为null.
+    private final List<String> replacements = new ArrayList<>();
+
+    Renderer(CompiledSqlSource source, Object parameterObject, StringBuilder sqlBuffer) {
+      this.source = source;
+      this.parameterObject = parameterObject;
+      this.context = new DynamicContext(source.configuration, parameterObject, sqlBuffer);
+      this.foreachNumbers = new int[source.foreachDepth];
+    }
+
+    void addToken(ParameterToken token) {
+      tokens.add(token);
+      replacements.add(token.frame < 0 ? null : ForEachSqlNode.itemizeItem(token.variable, foreachNumbers[token.frame]));
+    }
+
+    void addToken(ParameterToken token, String replacement) {
+      tokens.add(token);
+      replacements.add(replacement);
+    }
+
+    BoundSql toBoundSql() {
+      String sql = context.getSql();
+      // 与DynamicSqlSource相同,在所有节点执行完之后再按最终的bindings确定参数类型.
+      Class<?> parameterType = parameterObject == null ? Object.class : parameterObject.getClass();
+      Map<String, Object> bindings = context.getBindings();
+      List<ParameterMapping> parameterMappings = new ArrayList<>(tokens.size());
+      if (!tokens.isEmpty()) {
+        MetaObject metaBindings = source.configuration.newMetaObject(bindings);
+        for (int i = 0; i < tokens.size(); i++) {
+          parameterMappings.add(tokens.get(i).resolve(source, replacements.get(i), parameterType, bindings, metaBindings));
+        }
+      }
+      return new BoundSql(source.configuration, sql, source.share(parameterMappings), parameterObject, context.detachBindings());
+    }
+  }
+
+  /**
+   * A list of parameter mappings compared by the identity of its elements.
+   */
+  private static final class ParameterMappings {
+    private final List<ParameterMapping> mappings;
+    private final int hashCode;
+
+    ParameterMappings(List<ParameterMapping> mappings) {
+      this.mappings = mappings;
+      int hash = 1;
+      for (ParameterMapping mapping : mappings) {
+        hash = 31 * hash + System.identityHashCode(mapping);
+      }
+      this.hashCode = hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ParameterMappings)) {
+        return false;
+      }
+      List<ParameterMapping> other = ((ParameterMappings) o).mappings;
+      if (other.size() != mappings.size()) {
+        return false;
+      }
+      for (int i = 0; i < mappings.size(); i++) {
+        if (other.get(i) != mappings.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private abstract static class Step {
+    abstract boolean apply(Renderer renderer, DynamicContext context);
+  }
+
+  private static final class MixedStep extends Step {
+    private final Step[] steps;
+
+    MixedStep(Step[] steps) {
+      this.steps = steps;
+    }
+
+    @Override
+    boolean apply(Renderer renderer, DynamicContext context) {
+      for (Step step : steps) {
+        step.apply(renderer, context);
+      }
+      return true;
+    }
+  }
+
+  private static final class TextStep extends Step {
+    // #{}占位符已替换为?的文本.
+    private final String sql;
+    private final ParameterToken[] tokens;
+
+    private TextStep(String sql, ParameterToken[] tokens) {
+      this.sql = sql;
+      this.tokens = tokens;
+    }
+
+    static TextStep split(String text, List<ForEachSqlNode> enclosing) {
+      if (text == null || text.indexOf(PLACEHOLDER_MARK) >= 0 || text.endsWith("#") || text.endsWith("\\")) {
+        return null;
+      }
+      List<String> contents = new ArrayList<>();
+      String marked = new GenericTokenParser("#{", "}", content -> {
+        contents.add(content);
+        return String.valueOf(PLACEHOLDER_MARK);
+      }).parse(text);
+      // 剩下的#{未闭合或被转义,可能与其他片段组成占位符.
+      if (marked.contains("#{")) {
+        return null;
+      }
+      ParameterToken[] tokens = new ParameterToken[contents.size()];
+      for (int i = 0; i < tokens.length; i++) {
+        tokens[i] = new ParameterToken(contents.get(i), enclosing);
+      }
+      return new TextStep(marked.replace(PLACEHOLDER_MARK, '?'), tokens);
+    }
+
+    @Override
+    boolean apply(Renderer renderer, DynamicContext context) {
+      context.appendSql(sql);
+      addTokens(renderer);
+      return true;
+    }
+
+    void addTokens(Renderer renderer) {
+      for (ParameterToken token : tokens) {
+        renderer.addToken(token);
+      }
+    }
+  }
+
+  private static final class DynamicTextStep extends Step {
+    private final TextSqlNode node;
+    // ${}之间的文本,已按#{}拆分.
+    private final TextStep[] parts;
+    private final List<ForEachSqlNode> enclosing;
+
+    DynamicTextStep(TextSqlNode node, TextStep[] parts, List<ForEachSqlNode> enclosing) {
+      this.node = node;
+      this.parts = parts;
+      this.enclosing = enclosing;
+    }
+
+    @Override
+    boolean apply(Renderer renderer, DynamicContext context) {
+      String[] expressions = node.getExpressions();
+      String[] values = new String[expressions.length];
+      boolean placeholderInValues = false;
+      for (int i = 0; i < values.length; i++) {
+        values[i] = node.evaluate(expressions[i], context);
+        placeholderInValues |= mayJoinPlaceholder(values[i]);
+      }
+      if (placeholderInValues) {
+        appendParsed(renderer, context, values);
+        return true;
+      }
+      StringBuilder sql = new StringBuilder(parts[0].sql);
+      for (int i = 0; i < values.length; i++) {
+        sql.append(values[i]).append(parts[i + 1].sql);
+      }
+      context.appendSql(sql.toString());
+      for (TextStep part : parts) {
+        part.addTokens(renderer);
+      }
+      return true;
+    }
+
+    /**
+     * Values that contain placeholders are rare, the text is parsed like {@link DynamicSqlSource} does.
+     */
+    private void appendParsed(Renderer renderer, DynamicContext context, String[] values) {
+      String[] literals = node.getLiterals();
+      StringBuilder text = new StringBuilder(literals[0]);
+      for (int i = 0; i < values.length; i++) {
+        text.append(values[i]).append(literals[i + 1]);
+      }
+      List<ParameterToken> tokens = new ArrayList<>();
+      String sql = new GenericTokenParser("#{", "}", content -> {
+        tokens.add(new ParameterToken(content, enclosing));
+        return "?";
+      }).parse(text.toString());
+      context.appendSql(sql);
+      tokens.forEach(renderer::addToken);
+    }
+  }
+
+  private static final class IfStep extends Step {
+    private final IfSqlNode node;
+    private final Step contents;
+
+    IfStep(IfSqlNode node, Step contents) {
+      this.node = node;
+      this.contents = contents;
+    }
+
+    @Override
+    boolean apply(Renderer renderer, DynamicContext context) {
+      if (node.test(context)) {
+        contents.apply(renderer, context);
+        return true;
+      }
+      return false;
+    }
+  }
+
+  private static final class ChooseStep extends Step {
+    private final Step[] whens;
+    private final Step otherwise;
+
+    ChooseStep(Step[] whens, Step otherwise) {
+      this.whens = whens;
+      this.otherwise = otherwise;
+    }
+
+    @Override
+    boolean apply(Renderer renderer, DynamicContext context) {
+      for (Step when : whens) {
+        if (when.apply(renderer, context)) {
+          return true;
+        }
+      }
+      if (otherwise != null) {
+        otherwise.apply(renderer, context);
+        return true;
+      }
+      return false;
+    }
+  }
+
+  // <bind>不追加SQL,直接应用节点本身.
+  private static final class BindStep extends Step {
+    private final SqlNode node;
+
+    BindStep(SqlNode node) {
+      this.node = node;
+    }
+
+    @Override
+    boolean apply(Renderer renderer, DynamicContext context) {
+      return node.apply(context);
+    }
+  }
+
+  private static final class TrimStep extends Step {
+    private final TrimSqlNode node;
+    private final Step contents;
+
+    TrimStep(TrimSqlNode node, Step contents) {
+      this.node = node;
+      this.contents = contents;
+    }
+
+    @Override
+    boolean apply(Renderer renderer, DynamicContext context) {
+      return node.apply(context, trimmed -> contents.apply(renderer, trimmed));
+    }
+  }
+
+  private static final class ForEachStep extends Step {
+    private final ForEachSqlNode node;
+    private final Step contents;
+    private final int depth;
+    // 循环体只有一个#{item}占位符时按位置绑定所用的占位符,否则为null.
+    private final ParameterToken positionalToken;
+
+    ForEachStep(ForEachSqlNode node, Step contents, int depth) {
+      this.node = node;
+      this.contents = contents;
+      this.depth = depth;
+      String suffix = node.getPositionalItemSuffix();
+      this.positionalToken = suffix == null ? null : new ParameterToken(node.getItem(), suffix);
+    }
+
+    @Override
+    boolean apply(Renderer renderer, DynamicContext context) {
+      return node.apply(context, (name, position) -> {
+        renderer.addToken(positionalToken, name + "[" + position + "]");
+        return "?";
+      }, (element, uniqueNumber) -> {
+        renderer.foreachNumbers[depth] = uniqueNumber;
+        contents.apply(renderer, element);
+      });
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.parsing.XNode;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Language driver that compiles the dynamic SQL of XML scripts when the mapper is loaded.
+ * <p>
+ * Scripts are parsed the same way as by {@link XMLLanguageDriver}. Their dynamic sql sources are then compiled, as
+ * {@link XMLLanguageDriver} only does when {@link Configuration#isDynamicSqlTemplateCacheEnabled()} is enabled, so they
+ * render the SQL and its parameter mappings without parsing SQL on each execution. Scripts that cannot be compiled,
+ * e.g. because they contain custom sql nodes, keep being interpreted.
+ *
+ * @see CompiledSqlSource
+ *
+ * @since 3.5.7
+ */
+public class CompiledXMLLanguageDriver extends XMLLanguageDriver {
+
+  @Override
+  public SqlSource createSqlSource(Configuration configuration, XNode script, Class<?> parameterType) {
+    return compile(configuration, super.createSqlSource(configuration, script, parameterType));
+  }
+
+  @Override
+  public SqlSource createSqlSource(Configuration configuration, String script, Class<?> parameterType) {
+    return compile(configuration, super.createSqlSource(configuration, script, parameterType));
+  }
+
+  private SqlSource compile(Configuration configuration, SqlSource sqlSource) {
+    if (!(sqlSource instanceof DynamicSqlSource)) {
+      return sqlSource;
+    }
+    DynamicSqlSource dynamicSqlSource = (DynamicSqlSource) sqlSource;
+    // 开启dynamicSqlTemplateCacheEnabled时已经编译过.
+    return dynamicSqlSource.isCompiled() ? dynamicSqlSource
+        : new DynamicSqlSource(configuration, dynamicSqlSource.getRootSqlNode(), true);
+  }
+
+}
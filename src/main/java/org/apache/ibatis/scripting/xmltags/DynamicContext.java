@@ -17,13 +17,13 @@ package org.apache.ibatis.scripting.xmltags;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.StringJoiner;
 
 import ognl.OgnlContext;
 import ognl.OgnlRuntime;
 import ognl.PropertyAccessor;
 
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -46,8 +46,13 @@ public class DynamicContext {
 
   // 参数上下文.
   private final ContextMap bindings;
-  // 在SqlNode解析动态sql时,会将解析后的SQL语句片段添加到该属性中保存,最终拼凑出一条完整的SQL语句.
-  private final StringJoiner sqlBuilder = new StringJoiner(" ");
+  // 在SqlNode解析动态sql时,会将解析后的SQL语句片段以空格分隔追加到该缓冲区中,最终拼凑出一条完整的SQL语句.
+  // 只转发片段的包装上下文不会用到它,所以在第一次追加时才创建.
+  private StringBuilder sqlBuilder;
+  private boolean sqlAppended;
+  // 开启shrinkWhitespacesInSql时在追加过程中就把连续的空白压缩成一个空格.
+  private final boolean shrinkWhitespaces;
+  private boolean pendingSpace;
   private int uniqueNumber = 0;
 
   // 在DynamicContext的构造函数中,根据传入的参数对象是否为Map类型,有两个不同构造ContextMap的方式.
@@ -55,21 +60,37 @@ public class DynamicContext {
   // 具体来说,当传入的参数对象不是Map类型时,Mybatis会将传入的POJO对象用MetaObject对象来封装.
   // 当动态计算sql过程需要获取数据时,用Map接口的get方法包装 MetaObject对象的取值过程.
   public DynamicContext(Configuration configuration, Object parameterObject) {
+    this(configuration, parameterObject, null);
+  }
+
+  /**
+   * Creates a context that assembles the SQL into the given buffer, which lets callers reuse one buffer across
+   * executions. The buffer must be empty and must not be used by anyone else until the SQL has been read.
+   */
+  DynamicContext(Configuration configuration, Object parameterObject, StringBuilder sqlBuffer) {
+    this.sqlBuilder = sqlBuffer;
+    this.shrinkWhitespaces = configuration.isShrinkWhitespacesInSql();
     // 绝大多数调用的地方parameterObject为null.
     if (parameterObject != null && !(parameterObject instanceof Map)) {
-      // 对于非Map类型的参数,会创建对应的MetaObject对象,并封装成ContextMap对象.
-      MetaObject metaObject = configuration.newMetaObject(parameterObject);
-      boolean existsTypeHandler = configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass());
-      // 初始化bindings集合.
-      bindings = new ContextMap(metaObject, existsTypeHandler);
+      // 对于非Map类型的参数,会在第一次按属性取值时创建对应的MetaObject对象,并封装成ContextMap对象.
+      bindings = new ContextMap(configuration, parameterObject, configuration.getOgnlExpressionCache());
     } else {
-      bindings = new ContextMap(null, false);
+      bindings = new ContextMap(configuration, null, configuration.getOgnlExpressionCache());
     }
     // 将PARAMETER_OBJECT_KEY -> parameterObject这一对应关系添加到bindings集合中.
     bindings.put(PARAMETER_OBJECT_KEY, parameterObject);
     bindings.put(DATABASE_ID_KEY, configuration.getDatabaseId());
   }
 
+  /**
+   * Creates a context for sql node wrappers that forward everything to the given context. It shares the bindings
+   * of the delegate instead of creating its own.
+   */
+  DynamicContext(DynamicContext delegate) {
+    this.bindings = delegate.bindings;
+    this.shrinkWhitespaces = delegate.shrinkWhitespaces;
+  }
+
   public Map<String, Object> getBindings() {
     return bindings;
   }
@@ -78,14 +99,72 @@ public class DynamicContext {
     bindings.put(name, value);
   }
 
+  /**
+   * Hands the bindings over when the SQL is complete, e.g. as the additional parameters of a BoundSql. From then on
+   * names that are not bound are no longer read from the parameter object, so the map behaves like a plain map.
+   *
+   * @return the bindings
+   */
+  Map<String, Object> detachBindings() {
+    bindings.detach();
+    return bindings;
+  }
+
   // 追加SQL片段.
   public void appendSql(String sql) {
-    sqlBuilder.add(sql);
+    if (sqlBuilder == null) {
+      sqlBuilder = new StringBuilder();
+    }
+    if (shrinkWhitespaces) {
+      appendShrunk(String.valueOf(sql));
+    } else {
+      if (sqlAppended) {
+        sqlBuilder.append(' ');
+      }
+      sqlBuilder.append(sql);
+    }
+    sqlAppended = true;
+  }
+
+  // 与SqlSourceBuilder.removeExtraWhitespaces的结果一致:空白字符只在两个非空白字符之间以一个空格输出.
+  private void appendShrunk(String sql) {
+    if (sqlBuilder.length() > 0) {
+      pendingSpace = true;
+    }
+    for (int i = 0, length = sql.length(); i < length; i++) {
+      char c = sql.charAt(i);
+      if (c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f') {
+        pendingSpace = sqlBuilder.length() > 0;
+      } else {
+        if (pendingSpace) {
+          sqlBuilder.append(' ');
+          pendingSpace = false;
+        }
+        sqlBuilder.append(c);
+      }
+    }
   }
 
-  // 获取解析后的完整SQL语句.
+  /**
+   * Returns the assembled SQL without leading and trailing whitespace. When
+   * {@link Configuration#isShrinkWhitespacesInSql()} is enabled, the whitespace has already been shrunk.
+   *
+   * @return the SQL
+   */
   public String getSql() {
-    return sqlBuilder.toString().trim();
+    if (sqlBuilder == null) {
+      return "";
+    }
+    // 直接截取去掉首尾空白的区间,不再先生成完整字符串再trim.
+    int start = 0;
+    int end = sqlBuilder.length();
+    while (start < end && sqlBuilder.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && sqlBuilder.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    return sqlBuilder.substring(start, end);
   }
 
   public int getUniqueNumber() {
@@ -96,12 +175,56 @@ public class DynamicContext {
   static class ContextMap extends HashMap<String, Object> {
     private static final long serialVersionUID = 2977601501966151582L;
     // 将用户传入的参数封装成了MetaObject对象.
-    private final MetaObject parameterMetaObject;
-    private final boolean fallbackParameterObject;
+    private MetaObject parameterMetaObject;
+    private boolean fallbackParameterObject;
+    // 所属配置的OGNL表达式缓存.
+    private final OgnlExpressionCache expressionCache;
+    // 延迟创建parameterMetaObject时使用.
+    private final Configuration configuration;
+    private final Object parameterObject;
+    // 交给BoundSql之后不再从参数对象中取值.
+    private boolean detached;
 
     public ContextMap(MetaObject parameterMetaObject, boolean fallbackParameterObject) {
+      this(parameterMetaObject, fallbackParameterObject, null);
+    }
+
+    public ContextMap(MetaObject parameterMetaObject, boolean fallbackParameterObject, OgnlExpressionCache expressionCache) {
       this.parameterMetaObject = parameterMetaObject;
       this.fallbackParameterObject = fallbackParameterObject;
+      this.expressionCache = expressionCache;
+      this.configuration = null;
+      this.parameterObject = null;
+    }
+
+    // 参数对象的MetaObject在第一次按属性取值时才创建,大多数表达式只读取已绑定的值.
+    ContextMap(Configuration configuration, Object parameterObject, OgnlExpressionCache expressionCache) {
+      this.expressionCache = expressionCache;
+      this.configuration = configuration;
+      this.parameterObject = parameterObject;
+    }
+
+    void detach() {
+      detached = true;
+    }
+
+    private MetaObject getParameterMetaObject() {
+      if (parameterMetaObject == null && parameterObject != null) {
+        fallbackParameterObject = configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass());
+        parameterMetaObject = configuration.newMetaObject(parameterObject);
+      }
+      return parameterMetaObject;
+    }
+
+    OgnlExpressionCache getExpressionCache() {
+      return expressionCache;
+    }
+
+    ReflectorFactory getReflectorFactory() {
+      if (configuration != null) {
+        return configuration.getReflectorFactory();
+      }
+      return parameterMetaObject == null ? null : parameterMetaObject.getReflectorFactory();
     }
 
     @Override
@@ -113,15 +236,16 @@ public class DynamicContext {
       }
 
       // 从运行时参数中查找对应属性.
-      if (parameterMetaObject == null) {
+      MetaObject metaObject = detached ? null : getParameterMetaObject();
+      if (metaObject == null) {
         return null;
       }
 
-      if (fallbackParameterObject && !parameterMetaObject.hasGetter(strKey)) {
-        return parameterMetaObject.getOriginalObject();
+      if (fallbackParameterObject && !metaObject.hasGetter(strKey)) {
+        return metaObject.getOriginalObject();
       } else {
         // issue #61 do not modify the context when reading
-        return parameterMetaObject.getValue(strKey);
+        return metaObject.getValue(strKey);
       }
     }
   }
@@ -15,9 +15,14 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.List;
+
 import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.defaults.ParameterBinder;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -27,34 +32,100 @@ import org.apache.ibatis.session.Configuration;
  */
 public class DynamicSqlSource implements SqlSource {
 
+  // 超过该容量的缓冲区用完后不再保留,避免个别超长的SQL一直占用内存.
+  private static final int MAX_POOLED_BUFFER_CAPACITY = 16 * 1024;
+  // 每个线程复用一个拼接SQL的缓冲区.使用中时为null,嵌套执行时会临时创建新的缓冲区.
+  private static final ThreadLocal<StringBuilder> SQL_BUFFER = new ThreadLocal<>();
+
   private final Configuration configuration;
   // 存储MixedSqlNode对象,该对象中存储了select,update等标签中所有子标签对应的SqlNode对象.
   private final SqlNode rootSqlNode;
+  // 加载时编译好的SqlNode树,文本已按#{}拆分,执行时不再解析SQL.未开启或无法编译时为null.
+  private final CompiledSqlSource compiledSqlSource;
 
   public DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode) {
+    this(configuration, rootSqlNode, configuration.isDynamicSqlTemplateCacheEnabled());
+  }
+
+  /**
+   * @param compile
+   *          whether to compile the sql nodes, see {@link CompiledSqlSource#compile(Configuration, SqlNode)}
+   */
+  DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode, boolean compile) {
     this.configuration = configuration;
     this.rootSqlNode = rootSqlNode;
+    this.compiledSqlSource = compile ? CompiledSqlSource.compile(configuration, rootSqlNode) : null;
   }
 
   // 得到绑定的sql.
   @Override
   public BoundSql getBoundSql(Object parameterObject) {
+    if (compiledSqlSource != null) {
+      return compiledSqlSource.getBoundSql(parameterObject);
+    }
+    StringBuilder sqlBuffer = acquireSqlBuffer();
+    try {
+      return getBoundSql(parameterObject, sqlBuffer);
+    } finally {
+      releaseSqlBuffer(sqlBuffer);
+    }
+  }
+
+  private BoundSql getBoundSql(Object parameterObject, StringBuilder sqlBuffer) {
     // 创建DynamicContext对象,parameterObject是用户传入的实参.
-    DynamicContext context = new DynamicContext(configuration, parameterObject);
+    DynamicContext context = new DynamicContext(configuration, parameterObject, sqlBuffer);
     // 调用MixedSqlNode对象的apply方法,
     // 该方法会遍历存储了该select,update等标签,以及各if,where子标签对应的SqlNode有序链表的apply方法,
-    // 由各标签解释器解析自己标签对应的sql文本,并追加到传入的context中维护的StringJoiner字符串中.
+    // 由各标签解释器解析自己标签对应的sql文本,并追加到传入的context中维护的缓冲区中.
     rootSqlNode.apply(context);
     // 创建SqlSourceBuilder,解析参数属性,并将SQL语句中的 #{} 占位符替换成 ? 占位符.
+    // DynamicContext在追加时已经压缩过空白,不需要SqlSourceBuilder再处理一遍.
     SqlSourceBuilder sqlSourceParser = new SqlSourceBuilder(configuration);
     Class<?> parameterType = parameterObject == null ? Object.class : parameterObject.getClass();
     // 注意这里返回的是StaticSqlSource,解析完了就把那些参数都替换成 ? 了,也就是最基本的jdbc的sql写法.
     // 同时#{}占位符指定的参数,也已经解析完了,获取到了每个参数对应的javaType,jdbcType,TypeHandler等信息.
-    SqlSource sqlSource = sqlSourceParser.parse(context.getSql(), parameterType, context.getBindings());
-    // 创建BoundSql对象,并将DynamicContext.bindings中的参数信息复制到其additionalParameters集合中保存.
-    BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
-    context.getBindings().forEach(boundSql::setAdditionalParameter);
-    return boundSql;
+    StaticSqlSource sqlSource = sqlSourceParser.parse(context.getSql(), parameterType, context.getBindings(), false);
+    // 创建BoundSql对象,DynamicContext.bindings直接作为其additionalParameters集合,不再逐个复制.
+    return sqlSource.getBoundSql(parameterObject, context.detachBindings());
+  }
+
+  /**
+   * Gets the binder for a bound sql of this source and a parameter class. Only compiled sources reuse their
+   * parameter mappings, the parameter mappings of other bound sqls are created for each execution.
+   *
+   * @param parameterMappings
+   *          the parameter mappings of the bound sql
+   * @param parameterType
+   *          the class of the parameter object, or {@code null} if the parameter object is {@code null}
+   * @return the parameter binder, or {@code null} if the parameter mappings are not reused
+   * @since 3.5.7
+   */
+  public ParameterBinder getParameterBinder(List<ParameterMapping> parameterMappings, Class<?> parameterType) {
+    return compiledSqlSource == null ? null : compiledSqlSource.getParameterBinder(parameterMappings, parameterType);
+  }
+
+  static StringBuilder acquireSqlBuffer() {
+    StringBuilder sqlBuffer = SQL_BUFFER.get();
+    if (sqlBuffer == null) {
+      return new StringBuilder(256);
+    }
+    SQL_BUFFER.set(null);
+    return sqlBuffer;
+  }
+
+  static void releaseSqlBuffer(StringBuilder sqlBuffer) {
+    if (sqlBuffer.capacity() <= MAX_POOLED_BUFFER_CAPACITY) {
+      sqlBuffer.setLength(0);
+      SQL_BUFFER.set(sqlBuffer);
+    }
+  }
+
+  SqlNode getRootSqlNode() {
+    return rootSqlNode;
+  }
+
+  boolean isCompiled() {
+    return compiledSqlSource != null;
   }
 
 }
@@ -15,7 +15,10 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.ObjIntConsumer;
 
 import org.apache.ibatis.parsing.GenericTokenParser;
 import org.apache.ibatis.session.Configuration;
@@ -35,6 +38,8 @@ public class ForEachSqlNode implements SqlNode {
   private final String item;
   private final String index;
   private final Configuration configuration;
+  // 循环体只有一个#{item}占位符时,为占位符中item之后的内容(如",jdbcType=INTEGER"),否则为null.
+  private final String positionalItemSuffix;
 
   public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, String index, String item, String open, String close, String separator) {
     this.evaluator = new ExpressionEvaluator();
@@ -46,15 +51,34 @@ public class ForEachSqlNode implements SqlNode {
     this.index = index;
     this.item = item;
     this.configuration = configuration;
+    this.positionalItemSuffix = parsePositionalItemSuffix(contents, item);
   }
 
   @Override
   public boolean apply(DynamicContext context) {
+    return apply(context,
+        (name, position) -> "#{" + name + "[" + position + "]" + positionalItemSuffix + "}",
+        (elementContext, uniqueNumber) -> contents.apply(new FilteredDynamicContext(configuration, elementContext, index, item, uniqueNumber)));
+  }
+
+  /**
+   * Applies this foreach with the given placeholders and body, e.g. the compiled ones of {@link CompiledSqlSource}.
+   *
+   * @param placeholder
+   *          creates the placeholders of positional binding
+   * @param body
+   *          applies the body to the context of an element, with the unique number the element is bound with
+   */
+  boolean apply(DynamicContext context, PositionalPlaceholder placeholder, ObjIntConsumer<DynamicContext> body) {
     Map<String, Object> bindings = context.getBindings();
     final Iterable<?> iterable = evaluator.evaluateIterable(collectionExpression, bindings);
     if (!iterable.iterator().hasNext()) {
       return true;
     }
+    if (positionalItemSuffix != null && configuration.isForeachPositionalBindingEnabled()) {
+      applyPositional(context, iterable, placeholder);
+      return true;
+    }
     boolean first = true;
     applyOpen(context);
     int i = 0;
@@ -76,7 +100,7 @@ public class ForEachSqlNode implements SqlNode {
         applyIndex(context, i, uniqueNumber);
         applyItem(context, o, uniqueNumber);
       }
-      contents.apply(new FilteredDynamicContext(configuration, context, index, item, uniqueNumber));
+      body.accept(context, uniqueNumber);
       if (first) {
         first = !((PrefixedContext) context).isPrefixApplied();
       }
@@ -89,6 +113,67 @@ public class ForEachSqlNode implements SqlNode {
     return true;
   }
 
+  /**
+   * Binds the elements as one list and refers to them by position, e.g. {@code (#{__frch_id_0[0]},#{__frch_id_0[1]})},
+   * without applying the body for each element.
+   */
+  private void applyPositional(DynamicContext context, Iterable<?> iterable, PositionalPlaceholder placeholder) {
+    List<Object> items = new PositionalItems();
+    for (Object o : iterable) {
+      // Issue #709
+      items.add(o instanceof Map.Entry ? ((Map.Entry<?, ?>) o).getValue() : o);
+    }
+    int size = items.size();
+    int placeholders = size;
+    if (configuration.isForeachInListPaddingEnabled() && size > 1) {
+      // 补齐到2的幂,多出的占位符引用最后一个元素.
+      placeholders = Integer.highestOneBit(size - 1) << 1;
+    }
+    String name = itemizeItem(item, context.getUniqueNumber());
+    context.bind(name, items);
+    StringBuilder sql = new StringBuilder(placeholders * (name.length() + positionalItemSuffix.length() + 8));
+    if (open != null) {
+      sql.append(open);
+    }
+    for (int i = 0; i < placeholders; i++) {
+      if (i > 0 && separator != null) {
+        sql.append(separator);
+      }
+      sql.append(placeholder.create(name, Math.min(i, size - 1)));
+    }
+    if (close != null) {
+      sql.append(close);
+    }
+    context.appendSql(sql.toString());
+  }
+
+  /**
+   * Returns what follows the item in the only placeholder of a body like {@code #{item,jdbcType=INTEGER}}, or
+   * {@code null} if the body is anything else.
+   */
+  private static String parsePositionalItemSuffix(SqlNode contents, String item) {
+    SqlNode node = contents;
+    if (node instanceof MixedSqlNode && ((MixedSqlNode) node).getContents().size() == 1) {
+      node = ((MixedSqlNode) node).getContents().get(0);
+    }
+    if (item == null || !(node instanceof StaticTextSqlNode)) {
+      return null;
+    }
+    String text = ((StaticTextSqlNode) node).getText().trim();
+    if (!text.startsWith("#{") || !text.endsWith("}") || text.indexOf('}') != text.length() - 1) {
+      return null;
+    }
+    String content = text.substring(2, text.length() - 1).trim();
+    if (!content.startsWith(item)) {
+      return null;
+    }
+    String suffix = content.substring(item.length());
+    if (!suffix.isEmpty() && suffix.charAt(0) != ',' && suffix.charAt(0) != ':' && !Character.isWhitespace(suffix.charAt(0))) {
+      return null;
+    }
+    return suffix;
+  }
+
   private void applyIndex(DynamicContext context, Object o, int i) {
     if (index != null) {
       context.bind(index, o);
@@ -115,10 +200,86 @@ public class ForEachSqlNode implements SqlNode {
     }
   }
 
-  private static String itemizeItem(String item, int i) {
+  static String itemizeItem(String item, int i) {
     return ITEM_PREFIX + item + "_" + i;
   }
 
+  /**
+   * Returns the type of the element a placeholder of a positionally bound foreach refers to, such as
+   * {@code __frch_id_0[2]}. Each element may have its own type, so the type is that of the element's value.
+   *
+   * @param bindings
+   *          the bindings of the dynamic context
+   * @param property
+   *          the property of the placeholder
+   * @return the type of the element, or {@code null} if the property does not refer to a positionally bound element
+   * @since 3.5.7
+   */
+  public static Class<?> getPositionalItemType(Map<String, Object> bindings, String property) {
+    if (property == null || !property.startsWith(ITEM_PREFIX) || !property.endsWith("]")) {
+      return null;
+    }
+    int bracket = property.indexOf('[');
+    if (bracket < 0) {
+      return null;
+    }
+    Object items = bindings.get(property.substring(0, bracket));
+    if (!(items instanceof PositionalItems)) {
+      return null;
+    }
+    int position;
+    try {
+      position = Integer.parseInt(property.substring(bracket + 1, property.length() - 1));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    List<?> list = (List<?>) items;
+    Object element = position >= 0 && position < list.size() ? list.get(position) : null;
+    return element != null ? element.getClass() : Object.class;
+  }
+
+  SqlNode getContents() {
+    return contents;
+  }
+
+  String getOpen() {
+    return open;
+  }
+
+  String getClose() {
+    return close;
+  }
+
+  String getSeparator() {
+    return separator;
+  }
+
+  String getItem() {
+    return item;
+  }
+
+  String getIndex() {
+    return index;
+  }
+
+  String getPositionalItemSuffix() {
+    return positionalItemSuffix;
+  }
+
+  /**
+   * Creates the placeholder that refers to an element of a positionally bound foreach.
+   */
+  interface PositionalPlaceholder {
+    /**
+     * @param name
+     *          the name the elements are bound with
+     * @param position
+     *          the position of the element
+     * @return the placeholder
+     */
+    String create(String name, int position);
+  }
+
   private static class FilteredDynamicContext extends DynamicContext {
     private final DynamicContext delegate;
     private final int index;
@@ -126,7 +287,7 @@ public class ForEachSqlNode implements SqlNode {
     private final String item;
 
     public FilteredDynamicContext(Configuration configuration,DynamicContext delegate, String itemIndex, String item, int i) {
-      super(configuration, null);
+      super(delegate);
       this.delegate = delegate;
       this.index = i;
       this.itemIndex = itemIndex;
@@ -175,7 +336,7 @@ public class ForEachSqlNode implements SqlNode {
     private boolean prefixApplied;
 
     public PrefixedContext(DynamicContext delegate, String prefix) {
-      super(configuration, null);
+      super(delegate);
       this.delegate = delegate;
       this.prefix = prefix;
       this.prefixApplied = false;
@@ -213,6 +374,13 @@ public class ForEachSqlNode implements SqlNode {
     public int getUniqueNumber() {
       return delegate.getUniqueNumber();
     }
+
+  }
+
+
+  // 按下标绑定的元素列表,与用户绑定的list区分开.
+  private static final class PositionalItems extends ArrayList<Object> {
+    private static final long serialVersionUID = 1L;
   }
 
 }
@@ -31,11 +31,19 @@ public class IfSqlNode implements SqlNode {
 
   @Override
   public boolean apply(DynamicContext context) {
-    if (evaluator.evaluateBoolean(test, context.getBindings())) {
+    if (test(context)) {
       contents.apply(context);
       return true;
     }
     return false;
   }
 
+  boolean test(DynamicContext context) {
+    return evaluator.evaluateBoolean(test, context.getBindings());
+  }
+
+  SqlNode getContents() {
+    return contents;
+  }
+
 }
@@ -15,16 +15,11 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
-import ognl.Ognl;
-import ognl.OgnlException;
-
-import org.apache.ibatis.builder.BuilderException;
-
 /**
  * Caches OGNL parsed expressions.
+ * <p>
+ * Expressions evaluated against a {@link DynamicContext} use the {@link OgnlExpressionCache} of its configuration,
+ * others a cache shared by the JVM.
  *
  * @author Eduardo Macarron
  *
@@ -32,30 +27,15 @@ import org.apache.ibatis.builder.BuilderException;
  */
 public final class OgnlCache {
 
-  private static final OgnlMemberAccess MEMBER_ACCESS = new OgnlMemberAccess();
-  private static final OgnlClassResolver CLASS_RESOLVER = new OgnlClassResolver();
-  private static final Map<String, Object> expressionCache = new ConcurrentHashMap<>();
+  private static final OgnlExpressionCache SHARED_CACHE = new OgnlExpressionCache();
 
   private OgnlCache() {
     // Prevent Instantiation of Static Class
   }
 
   public static Object getValue(String expression, Object root) {
-    try {
-      Map context = Ognl.createDefaultContext(root, MEMBER_ACCESS, CLASS_RESOLVER, null);
-      return Ognl.getValue(parseExpression(expression), context, root);
-    } catch (OgnlException e) {
-      throw new BuilderException("Error evaluating expression '" + expression + "'. Cause: " + e, e);
-    }
-  }
-
-  private static Object parseExpression(String expression) throws OgnlException {
-    Object node = expressionCache.get(expression);
-    if (node == null) {
-      node = Ognl.parseExpression(expression);
-      expressionCache.put(expression, node);
-    }
-    return node;
+    OgnlExpressionCache cache = root instanceof DynamicContext.ContextMap ? ((DynamicContext.ContextMap) root).getExpressionCache() : null;
+    return (cache != null ? cache : SHARED_CACHE).getValue(expression, root);
   }
 
 }
@@ -0,0 +1,175 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import ognl.Ognl;
+import ognl.OgnlException;
+
+import org.apache.ibatis.builder.BuilderException;
+
+/**
+ * Size bounded cache of parsed OGNL expressions, with hit and parse counts.
+ * <p>
+ * Each {@link org.apache.ibatis.session.Configuration} has its own cache, used for all expressions evaluated against
+ * its dynamic contexts. When the cache is full, an expression that has not been used since the clock hand last passed
+ * it is removed (second chance eviction). The hand keeps its position between evictions, and lookups never lock.
+ *
+ * @see OgnlCache
+ * @see org.apache.ibatis.session.Configuration#getOgnlExpressionCache()
+ */
+public class OgnlExpressionCache {
+
+  public static final int DEFAULT_MAX_SIZE = 1024;
+
+  private static final OgnlMemberAccess MEMBER_ACCESS = new OgnlMemberAccess();
+  private static final OgnlClassResolver CLASS_RESOLVER = new OgnlClassResolver();
+
+  private final Map<String, ParsedExpression> expressions = new ConcurrentHashMap<>();
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder parseCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+  private volatile int maxSize;
+  // 淘汰时的时钟指针,只在evict()中使用.
+  private Iterator<ParsedExpression> clockHand;
+
+  public OgnlExpressionCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public OgnlExpressionCache(int maxSize) {
+    setMaxSize(maxSize);
+  }
+
+  public Object getValue(String expression, Object root) {
+    try {
+      ParsedExpression parsed = parseExpression(expression);
+      if (parsed.compiled != null) {
+        Object value = parsed.compiled.getValue(root);
+        if (value != CompiledExpression.UNSUPPORTED) {
+          return value;
+        }
+      }
+      Map context = Ognl.createDefaultContext(root, MEMBER_ACCESS, CLASS_RESOLVER, null);
+      return Ognl.getValue(parsed.node, context, root);
+    } catch (OgnlException e) {
+      throw new BuilderException("Error evaluating expression '" + expression + "'. Cause: " + e, e);
+    }
+  }
+
+  private ParsedExpression parseExpression(String expression) throws OgnlException {
+    ParsedExpression parsed = expressions.get(expression);
+    if (parsed != null) {
+      hitCount.increment();
+      if (!parsed.used) {
+        parsed.used = true;
+      }
+      return parsed;
+    }
+    Object node = Ognl.parseExpression(expression);
+    parseCount.increment();
+    parsed = new ParsedExpression(node, CompiledExpression.compile(node));
+    if (expressions.size() >= maxSize) {
+      evict();
+    }
+    expressions.put(expression, parsed);
+    return parsed;
+  }
+
+  private synchronized void evict() {
+    // 时钟指针在两次淘汰之间保持位置,每次从上次停下的地方继续扫描;清除使用标记,移除第一个未使用过的表达式.
+    int limit = 2 * expressions.size() + 1;
+    for (int scanned = 0; scanned < limit; scanned++) {
+      if (clockHand == null || !clockHand.hasNext()) {
+        clockHand = expressions.values().iterator();
+        if (!clockHand.hasNext()) {
+          return;
+        }
+      }
+      ParsedExpression candidate = clockHand.next();
+      if (!candidate.used) {
+        clockHand.remove();
+        evictionCount.increment();
+        return;
+      }
+      candidate.used = false;
+    }
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Sets the number of expressions kept. Expressions beyond the new size are evicted as new ones are parsed.
+   *
+   * @param maxSize
+   *          the maximum number of cached expressions
+   */
+  public void setMaxSize(int maxSize) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The size of the OGNL expression cache must be positive but was " + maxSize + ".");
+    }
+    this.maxSize = maxSize;
+  }
+
+  public int size() {
+    return expressions.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getParseCount() {
+    return parseCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  /**
+   * Returns the share of lookups that found a parsed expression.
+   *
+   * @return the hit ratio between 0 and 1, or 0 if nothing has been looked up yet
+   */
+  public double getHitRatio() {
+    long hits = hitCount.sum();
+    long lookups = hits + parseCount.sum();
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  public void clear() {
+    expressions.clear();
+  }
+
+  private static final class ParsedExpression {
+    private final Object node;
+    private final CompiledExpression compiled;
+    private volatile boolean used;
+
+    ParsedExpression(Object node, CompiledExpression compiled) {
+      this.node = node;
+      this.compiled = compiled;
+    }
+  }
+
+}
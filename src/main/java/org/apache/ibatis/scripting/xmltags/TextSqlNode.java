@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.apache.ibatis.parsing.GenericTokenParser;
@@ -26,8 +28,14 @@ import org.apache.ibatis.type.SimpleTypeRegistry;
  * @author Clinton Begin
  */
 public class TextSqlNode implements SqlNode {
+  // 解析时用来标记${}位置的字符,文本中本身含有该字符时不预先拆分.
+  private static final char EXPRESSION_MARK = '\u0000';
+
   private final String text;
   private final Pattern injectionFilter;
+  // 构建时按${}拆分好的文本:literals比expressions多一个,两者交替拼接.文本含有EXPRESSION_MARK时为null.
+  private final String[] literals;
+  private final String[] expressions;
 
   public TextSqlNode(String text) {
     this(text, null);
@@ -36,9 +44,36 @@ public class TextSqlNode implements SqlNode {
   public TextSqlNode(String text, Pattern injectionFilter) {
     this.text = text;
     this.injectionFilter = injectionFilter;
+    if (text != null && text.indexOf(EXPRESSION_MARK) >= 0) {
+      this.literals = null;
+      this.expressions = null;
+    } else {
+      List<String> found = new ArrayList<>();
+      String marked = createParser(content -> {
+        found.add(content);
+        return String.valueOf(EXPRESSION_MARK);
+      }).parse(text);
+      this.expressions = found.toArray(new String[0]);
+      this.literals = split(marked, expressions.length);
+    }
+  }
+
+  private static String[] split(String marked, int expressionCount) {
+    String[] parts = new String[expressionCount + 1];
+    int offset = 0;
+    for (int i = 0; i < expressionCount; i++) {
+      int mark = marked.indexOf(EXPRESSION_MARK, offset);
+      parts[i] = marked.substring(offset, mark);
+      offset = mark + 1;
+    }
+    parts[expressionCount] = marked.substring(offset);
+    return parts;
   }
 
   public boolean isDynamic() {
+    if (expressions != null) {
+      return expressions.length > 0;
+    }
     DynamicCheckerTokenParser checker = new DynamicCheckerTokenParser();
     GenericTokenParser parser = createParser(checker);
     parser.parse(text);
@@ -47,15 +82,43 @@ public class TextSqlNode implements SqlNode {
 
   @Override
   public boolean apply(DynamicContext context) {
-    GenericTokenParser parser = createParser(new BindingTokenParser(context, injectionFilter));
-    context.appendSql(parser.parse(text));
+    BindingTokenParser handler = new BindingTokenParser(context, injectionFilter);
+    if (expressions == null) {
+      context.appendSql(createParser(handler).parse(text));
+    } else if (expressions.length == 0) {
+      context.appendSql(literals[0]);
+    } else {
+      // 直接按预先拆分好的片段拼接,不再每次扫描文本.
+      StringBuilder sql = new StringBuilder(literals[0]);
+      for (int i = 0; i < expressions.length; i++) {
+        sql.append(handler.handleToken(expressions[i])).append(literals[i + 1]);
+      }
+      context.appendSql(sql.toString());
+    }
     return true;
   }
 
-  private GenericTokenParser createParser(TokenHandler handler) {
-    return new GenericTokenParser("${", "}", handler);
+  /**
+   * Returns the text between the {@code ${}} expressions, or {@code null} if the text was not split.
+   */
+  String[] getLiterals() {
+    return literals;
+  }
+
+  String[] getExpressions() {
+    return expressions;
   }
 
+  /**
+   * Evaluates one {@code ${}} expression of this node the same way {@link #apply(DynamicContext)} does.
+   */
+  String evaluate(String expression, DynamicContext context) {
+    return new BindingTokenParser(context, injectionFilter).handleToken(expression);
+  }
+
+  private static GenericTokenParser createParser(TokenHandler handler) {
+    return new GenericTokenParser("${", "}", handler);
+  }
   private static class BindingTokenParser implements TokenHandler {
 
     private DynamicContext context;
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.function.Predicate;
 
 import org.apache.ibatis.session.Configuration;
 
@@ -51,8 +52,16 @@ public class TrimSqlNode implements SqlNode {
 
   @Override
   public boolean apply(DynamicContext context) {
+    return apply(context, contents::apply);
+  }
+
+  /**
+   * Applies the given body instead of the contents, e.g. the compiled contents of {@link CompiledSqlSource}, and trims
+   * the SQL it appends.
+   */
+  boolean apply(DynamicContext context, Predicate<DynamicContext> body) {
     FilteredDynamicContext filteredDynamicContext = new FilteredDynamicContext(context);
-    boolean result = contents.apply(filteredDynamicContext);
+    boolean result = body.test(filteredDynamicContext);
     filteredDynamicContext.applyAll();
     return result;
   }
@@ -71,25 +80,16 @@ public class TrimSqlNode implements SqlNode {
 
   private class FilteredDynamicContext extends DynamicContext {
     private DynamicContext delegate;
-    private boolean prefixApplied;
-    private boolean suffixApplied;
     private StringBuilder sqlBuffer;
 
     public FilteredDynamicContext(DynamicContext delegate) {
-      super(configuration, null);
+      super(delegate);
       this.delegate = delegate;
-      this.prefixApplied = false;
-      this.suffixApplied = false;
       this.sqlBuffer = new StringBuilder();
     }
 
     public void applyAll() {
-      sqlBuffer = new StringBuilder(sqlBuffer.toString().trim());
-      String trimmedUppercaseSql = sqlBuffer.toString().toUpperCase(Locale.ENGLISH);
-      if (trimmedUppercaseSql.length() > 0) {
-        applyPrefix(sqlBuffer, trimmedUppercaseSql);
-        applySuffix(sqlBuffer, trimmedUppercaseSql);
-      }
+      applyOverrides(sqlBuffer);
       delegate.appendSql(sqlBuffer.toString());
     }
 
@@ -118,44 +118,106 @@ public class TrimSqlNode implements SqlNode {
       return delegate.getSql();
     }
 
-    private void applyPrefix(StringBuilder sql, String trimmedUppercaseSql) {
-      if (!prefixApplied) {
-        prefixApplied = true;
-        if (prefixesToOverride != null) {
-          for (String toRemove : prefixesToOverride) {
-            if (trimmedUppercaseSql.startsWith(toRemove)) {
-              sql.delete(0, toRemove.trim().length());
-              break;
-            }
-          }
-        }
-        if (prefix != null) {
-          sql.insert(0, " ");
-          sql.insert(0, prefix);
+  }
+
+  /**
+   * Trims the sql in place and applies the prefix, the suffix and their overrides.
+   */
+  void applyOverrides(StringBuilder sql) {
+    // 在缓冲区内原地去掉首尾空白,前后缀的比较也直接在缓冲区上忽略大小写进行,不再生成大写副本.
+    trim(sql);
+    if (sql.length() > 0) {
+      // 后缀按去掉前缀之前的内容判断,所以先确定要删除的后缀.
+      String suffixToRemove = findSuffixToOverride(sql);
+      applyPrefix(sql);
+      applySuffix(sql, suffixToRemove);
+    }
+  }
+
+  private void applyPrefix(StringBuilder sql) {
+    if (prefixesToOverride != null) {
+      for (String toRemove : prefixesToOverride) {
+        if (regionMatchesUpperCase(sql, 0, toRemove)) {
+          sql.delete(0, toRemove.trim().length());
+          break;
         }
       }
     }
+    if (prefix != null) {
+      sql.insert(0, " ");
+      sql.insert(0, prefix);
+    }
+  }
 
-    private void applySuffix(StringBuilder sql, String trimmedUppercaseSql) {
-      if (!suffixApplied) {
-        suffixApplied = true;
-        if (suffixesToOverride != null) {
-          for (String toRemove : suffixesToOverride) {
-            if (trimmedUppercaseSql.endsWith(toRemove) || trimmedUppercaseSql.endsWith(toRemove.trim())) {
-              int start = sql.length() - toRemove.trim().length();
-              int end = sql.length();
-              sql.delete(start, end);
-              break;
-            }
-          }
-        }
-        if (suffix != null) {
-          sql.append(" ");
-          sql.append(suffix);
+  private String findSuffixToOverride(StringBuilder sql) {
+    if (suffixesToOverride != null) {
+      for (String toRemove : suffixesToOverride) {
+        String trimmed = toRemove.trim();
+        if (regionMatchesUpperCase(sql, sql.length() - toRemove.length(), toRemove)
+            || regionMatchesUpperCase(sql, sql.length() - trimmed.length(), trimmed)) {
+          return trimmed;
         }
       }
     }
+    return null;
+  }
+
+  private void applySuffix(StringBuilder sql, String suffixToRemove) {
+    if (suffixToRemove != null) {
+      sql.setLength(sql.length() - suffixToRemove.length());
+    }
+    if (suffix != null) {
+      sql.append(" ");
+      sql.append(suffix);
+    }
+  }
+
+  SqlNode getContents() {
+    return contents;
+  }
+
+  String getPrefix() {
+    return prefix;
+  }
+
+  String getSuffix() {
+    return suffix;
+  }
+
+  List<String> getPrefixesToOverride() {
+    return prefixesToOverride;
+  }
+
+  List<String> getSuffixesToOverride() {
+    return suffixesToOverride;
+  }
+
+  private static void trim(StringBuilder sql) {
+    int end = sql.length();
+    while (end > 0 && sql.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    sql.setLength(end);
+    int start = 0;
+    while (start < end && sql.charAt(start) <= ' ') {
+      start++;
+    }
+    sql.delete(0, start);
+  }
 
+  /**
+   * Checks whether the sql contains the upper case text at the offset, ignoring the case of the sql.
+   */
+  private static boolean regionMatchesUpperCase(CharSequence sql, int offset, String upperCaseText) {
+    if (offset < 0 || offset + upperCaseText.length() > sql.length()) {
+      return false;
+    }
+    for (int i = 0; i < upperCaseText.length(); i++) {
+      if (Character.toUpperCase(sql.charAt(offset + i)) != upperCaseText.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
   }
 
 }
@@ -78,6 +78,7 @@ import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.InterceptorChain;
 import org.apache.ibatis.reflection.DefaultReflectorFactory;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.PropertyAccessor;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
@@ -86,6 +87,8 @@ import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.scripting.LanguageDriverRegistry;
 import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.CompiledXMLLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.OgnlExpressionCache;
 import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.transaction.Transaction;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
@@ -129,6 +132,24 @@ public class Configuration {
   protected boolean returnInstanceForEmptyRow;
   // 是否在处理sql文本时,删除\r\n等转义符.
   protected boolean shrinkWhitespacesInSql;
+  // resultType为map时,是否使用共享列名索引的紧凑Map(CompactRowMap)代替每行一个HashMap.
+  protected boolean useCompactMapResults;
+  // 是否根据每个MappedStatement的历史行数和列数自动选择fetchSize(未显式配置fetchSize时).
+  protected boolean adaptiveFetchSizeEnabled;
+  protected int adaptiveFetchSizeMin = 10;
+  protected int adaptiveFetchSizeMax = 1000;
+  // 一次获取的最大列值数量(行数 * 列数),避免宽表一次取回过多数据.
+  protected int adaptiveFetchSizeMaxColumnValues = 100000;
+  // 是否在加载时编译动态SQL,执行时直接拼接预先拆分好的SQL片段并复用参数映射.
+  protected boolean dynamicSqlTemplateCacheEnabled;
+  // 动态SQL中OGNL表达式的解析缓存,每个配置独立,有容量上限.
+  protected final OgnlExpressionCache ognlExpressionCache = new OgnlExpressionCache();
+  // 循环体只有一个#{item}占位符的foreach是否整体绑定集合,按下标引用元素,而不是为每个元素生成一个绑定.
+  protected boolean foreachPositionalBindingEnabled;
+  // 按下标绑定的foreach是否把元素个数补齐到2的幂(重复最后一个元素),减少不同的SQL文本.
+  protected boolean foreachInListPaddingEnabled;
+  // 是否按属性名映射record和带builder的不可变类,先收集组件值,映射完成后再创建对象.
+  protected boolean immutableResultMappingEnabled;
 
   // 输出的日志中的类名,增加指定前缀.
   protected String logPrefix;
@@ -265,6 +286,7 @@ public class Configuration {
 
     typeAliasRegistry.registerAlias("XML", XMLLanguageDriver.class);
     typeAliasRegistry.registerAlias("RAW", RawLanguageDriver.class);
+    typeAliasRegistry.registerAlias("COMPILED_XML", CompiledXMLLanguageDriver.class);
 
     typeAliasRegistry.registerAlias("SLF4J", Slf4jImpl.class);
     typeAliasRegistry.registerAlias("COMMONS_LOGGING", JakartaCommonsLoggingImpl.class);
@@ -365,6 +387,90 @@ public class Configuration {
     this.shrinkWhitespacesInSql = shrinkWhitespacesInSql;
   }
 
+  public boolean isUseCompactMapResults() {
+    return useCompactMapResults;
+  }
+
+  public void setUseCompactMapResults(boolean useCompactMapResults) {
+    this.useCompactMapResults = useCompactMapResults;
+  }
+
+  public boolean isAdaptiveFetchSizeEnabled() {
+    return adaptiveFetchSizeEnabled;
+  }
+
+  public void setAdaptiveFetchSizeEnabled(boolean adaptiveFetchSizeEnabled) {
+    this.adaptiveFetchSizeEnabled = adaptiveFetchSizeEnabled;
+  }
+
+  public int getAdaptiveFetchSizeMin() {
+    return adaptiveFetchSizeMin;
+  }
+
+  public void setAdaptiveFetchSizeMin(int adaptiveFetchSizeMin) {
+    this.adaptiveFetchSizeMin = adaptiveFetchSizeMin;
+  }
+
+  public int getAdaptiveFetchSizeMax() {
+    return adaptiveFetchSizeMax;
+  }
+
+  public void setAdaptiveFetchSizeMax(int adaptiveFetchSizeMax) {
+    this.adaptiveFetchSizeMax = adaptiveFetchSizeMax;
+  }
+
+  public int getAdaptiveFetchSizeMaxColumnValues() {
+    return adaptiveFetchSizeMaxColumnValues;
+  }
+
+  public void setAdaptiveFetchSizeMaxColumnValues(int adaptiveFetchSizeMaxColumnValues) {
+    this.adaptiveFetchSizeMaxColumnValues = adaptiveFetchSizeMaxColumnValues;
+  }
+
+  public boolean isDynamicSqlTemplateCacheEnabled() {
+    return dynamicSqlTemplateCacheEnabled;
+  }
+
+  public void setDynamicSqlTemplateCacheEnabled(boolean dynamicSqlTemplateCacheEnabled) {
+    this.dynamicSqlTemplateCacheEnabled = dynamicSqlTemplateCacheEnabled;
+  }
+
+  public OgnlExpressionCache getOgnlExpressionCache() {
+    return ognlExpressionCache;
+  }
+
+  public int getOgnlExpressionCacheSize() {
+    return ognlExpressionCache.getMaxSize();
+  }
+
+  public void setOgnlExpressionCacheSize(int ognlExpressionCacheSize) {
+    ognlExpressionCache.setMaxSize(ognlExpressionCacheSize);
+  }
+
+  public boolean isForeachPositionalBindingEnabled() {
+    return foreachPositionalBindingEnabled;
+  }
+
+  public void setForeachPositionalBindingEnabled(boolean foreachPositionalBindingEnabled) {
+    this.foreachPositionalBindingEnabled = foreachPositionalBindingEnabled;
+  }
+
+  public boolean isForeachInListPaddingEnabled() {
+    return foreachInListPaddingEnabled;
+  }
+
+  public void setForeachInListPaddingEnabled(boolean foreachInListPaddingEnabled) {
+    this.foreachInListPaddingEnabled = foreachInListPaddingEnabled;
+  }
+
+  public boolean isImmutableResultMappingEnabled() {
+    return immutableResultMappingEnabled;
+  }
+
+  public void setImmutableResultMappingEnabled(boolean immutableResultMappingEnabled) {
+    this.immutableResultMappingEnabled = immutableResultMappingEnabled;
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -709,6 +815,25 @@ public class Configuration {
     return MetaObject.forObject(object, objectFactory, objectWrapperFactory, reflectorFactory);
   }
 
+  /**
+   * Gets the cached accessor of a property path, which reads the path like {@link #newMetaObject(Object)} does
+   * without creating a meta object.
+   *
+   * @param type
+   *          the class of the objects the path is read from
+   * @param path
+   *          the property path
+   * @return the accessor, or {@code null} if a custom object wrapper factory or reflector factory requires to use
+   *         {@link #newMetaObject(Object)}
+   * @since 3.5.7
+   */
+  public PropertyAccessor getPropertyAccessor(Class<?> type, String path) {
+    if (!MetaObject.canUsePropertyAccessor(null, objectWrapperFactory, reflectorFactory)) {
+      return null;
+    }
+    return PropertyAccessor.forPath(type, path, reflectorFactory);
+  }
+
   public ParameterHandler newParameterHandler(MappedStatement mappedStatement, Object parameterObject, BoundSql boundSql) {
     ParameterHandler parameterHandler = mappedStatement.getLang().createParameterHandler(mappedStatement, parameterObject, boundSql);
     // 调用拦截器链,如果匹配拦截规则,则对参数处理程序对象进行增强,并返回动态代理对象实例.
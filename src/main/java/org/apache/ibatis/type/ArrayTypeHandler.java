@@ -31,6 +31,7 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -83,19 +84,52 @@ public class ArrayTypeHandler extends BaseTypeHandler<Object> {
       // it's the user's responsibility to properly free() the Array instance
       ps.setArray(i, (Array) parameter);
     } else {
-      if (!parameter.getClass().isArray()) {
+      Object[] elements;
+      Class<?> componentType;
+      if (parameter instanceof Collection) {
+        // 集合(如IN列表的参数)按元素的类型创建SQL数组,SQL文本不随元素个数变化.
+        elements = ((Collection<?>) parameter).toArray();
+        componentType = Object.class;
+      } else if (parameter.getClass().isArray()) {
+        elements = toObjectArray(parameter);
+        componentType = parameter.getClass().getComponentType();
+      } else {
         throw new TypeException(
-            "ArrayType Handler requires SQL array or java array parameter and does not support type "
+            "ArrayType Handler requires SQL array, java array or collection parameter and does not support type "
                 + parameter.getClass());
       }
-      Class<?> componentType = parameter.getClass().getComponentType();
+      if (Object.class.equals(componentType)) {
+        componentType = resolveElementType(elements);
+      }
       String arrayTypeName = resolveTypeName(componentType);
-      Array array = ps.getConnection().createArrayOf(arrayTypeName, (Object[]) parameter);
+      Array array = ps.getConnection().createArrayOf(arrayTypeName, elements);
       ps.setArray(i, array);
       array.free();
     }
   }
 
+  private static Object[] toObjectArray(Object array) {
+    if (array instanceof Object[]) {
+      return (Object[]) array;
+    }
+    // 基本类型数组逐个装箱.
+    int length = java.lang.reflect.Array.getLength(array);
+    Object[] elements = new Object[length];
+    for (int i = 0; i < length; i++) {
+      elements[i] = java.lang.reflect.Array.get(array, i);
+    }
+    return elements;
+  }
+
+  private static Class<?> resolveElementType(Object[] elements) {
+    for (Object element : elements) {
+      if (element != null) {
+        return element.getClass();
+      }
+    }
+    return Object.class;
+  }
+
   protected String resolveTypeName(Class<?> type) {
     return STANDARD_MAPPING.getOrDefault(type, JdbcType.JAVA_OBJECT.name());
   }
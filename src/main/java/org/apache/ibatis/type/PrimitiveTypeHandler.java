@@ -0,0 +1,96 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.type;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * A type handler that can read a column as a primitive value, so that it can be set on a primitive property without
+ * boxing.
+ * <p>
+ * A handler implements the nested interface of the type returned by {@link #getPrimitiveType()}, e.g.
+ * {@link OfInt} for {@code int}. A {@code SQL NULL} is read as the default value of the type, the caller checks
+ * {@link ResultSet#wasNull()} afterwards.
+ *
+ * @since 3.5.7
+ */
+public interface PrimitiveTypeHandler {
+
+  /**
+   * @return the primitive type read by this handler, or {@code null} if values must be read through
+   *         {@link TypeHandler#getResult(ResultSet, String)}, e.g. because a subclass overrides how they are read
+   */
+  Class<?> getPrimitiveType();
+
+  interface OfInt extends PrimitiveTypeHandler {
+    int getIntResult(ResultSet rs, String columnName) throws SQLException;
+  }
+
+  interface OfLong extends PrimitiveTypeHandler {
+    long getLongResult(ResultSet rs, String columnName) throws SQLException;
+  }
+
+  interface OfDouble extends PrimitiveTypeHandler {
+    double getDoubleResult(ResultSet rs, String columnName) throws SQLException;
+  }
+
+  interface OfFloat extends PrimitiveTypeHandler {
+    float getFloatResult(ResultSet rs, String columnName) throws SQLException;
+  }
+
+  interface OfShort extends PrimitiveTypeHandler {
+    short getShortResult(ResultSet rs, String columnName) throws SQLException;
+  }
+
+  interface OfByte extends PrimitiveTypeHandler {
+    byte getByteResult(ResultSet rs, String columnName) throws SQLException;
+  }
+
+  interface OfBoolean extends PrimitiveTypeHandler {
+    boolean getBooleanResult(ResultSet rs, String columnName) throws SQLException;
+  }
+
+  /**
+   * Checks whether a type handler reads the given primitive type through the matching nested interface.
+   *
+   * @param typeHandler
+   *          the type handler
+   * @param type
+   *          the primitive type
+   * @return true if the value can be read without boxing
+   */
+  static boolean canRead(TypeHandler<?> typeHandler, Class<?> type) {
+    if (!(typeHandler instanceof PrimitiveTypeHandler) || ((PrimitiveTypeHandler) typeHandler).getPrimitiveType() != type) {
+      return false;
+    } else if (type == int.class) {
+      return typeHandler instanceof OfInt;
+    } else if (type == long.class) {
+      return typeHandler instanceof OfLong;
+    } else if (type == double.class) {
+      return typeHandler instanceof OfDouble;
+    } else if (type == float.class) {
+      return typeHandler instanceof OfFloat;
+    } else if (type == short.class) {
+      return typeHandler instanceof OfShort;
+    } else if (type == byte.class) {
+      return typeHandler instanceof OfByte;
+    } else {
+      return type == boolean.class && typeHandler instanceof OfBoolean;
+    }
+  }
+
+}
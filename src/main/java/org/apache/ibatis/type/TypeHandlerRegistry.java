@@ -19,6 +19,7 @@ import java.io.InputStream;
 import java.io.Reader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -257,10 +258,20 @@ public final class TypeHandlerRegistry {
         handler = pickSoleHandler(jdbcHandlerMap);
       }
     }
+    if (handler == null && jdbcType == JdbcType.ARRAY && isArrayOrCollection(type)) {
+      // 集合和数组参数指定jdbcType=ARRAY时,作为一个SQL数组绑定.
+      handler = getTypeHandler(Object.class, JdbcType.ARRAY);
+    }
     // type drives generics here
     return (TypeHandler<T>) handler;
   }
 
+  private static boolean isArrayOrCollection(Type type) {
+    Class<?> clazz = type instanceof ParameterizedType ? (Class<?>) ((ParameterizedType) type).getRawType()
+        : type instanceof Class ? (Class<?>) type : null;
+    return clazz != null && (clazz.isArray() || Collection.class.isAssignableFrom(clazz));
+  }
+
   private Map<JdbcType, TypeHandler<?>> getJdbcHandlerMap(Type type) {
     Map<JdbcType, TypeHandler<?>> jdbcHandlerMap = typeHandlerMap.get(type);
     if (NULL_TYPE_HANDLER_MAP.equals(jdbcHandlerMap)) {
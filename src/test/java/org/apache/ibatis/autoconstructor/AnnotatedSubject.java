@@ -40,4 +40,20 @@ public class AnnotatedSubject {
     this.height = height == null ? 0 : height;
     this.weight = weight == null ? 0 : weight;
   }
+
+  public int getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int getWeight() {
+    return weight;
+  }
 }
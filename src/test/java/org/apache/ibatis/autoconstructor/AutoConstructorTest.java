@@ -15,11 +15,14 @@
  */
 package org.apache.ibatis.autoconstructor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.Reader;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.exceptions.PersistenceException;
@@ -71,6 +74,26 @@ class AutoConstructorTest {
     }
   }
 
+  @Test
+  void annotatedSubjectsKeepTheirOwnValues() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      final AutoConstructorMapper mapper = sqlSession.getMapper(AutoConstructorMapper.class);
+      final List<AnnotatedSubject> subjects = mapper.getAnnotatedSubjects();
+      verifySubjects(subjects);
+      final Map<String, AnnotatedSubject> subjectsByName = new HashMap<>();
+      for (AnnotatedSubject subject : subjects) {
+        subjectsByName.put(subject.getName(), subject);
+      }
+      assertEquals(3, subjectsByName.size());
+      assertEquals(100, subjectsByName.get("a").getHeight());
+      assertEquals(45, subjectsByName.get("a").getWeight());
+      assertEquals(0, subjectsByName.get("b").getHeight());
+      assertEquals(45, subjectsByName.get("b").getWeight());
+      assertEquals(0, subjectsByName.get("c").getHeight());
+      assertEquals(0, subjectsByName.get("c").getWeight());
+    }
+  }
+
   @Test
   void badSubject() {
     try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
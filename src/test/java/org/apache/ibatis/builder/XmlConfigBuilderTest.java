@@ -102,6 +102,16 @@ class XmlConfigBuilderTest {
       assertThat(config.getTypeHandlerRegistry().getTypeHandler(RoundingMode.class)).isInstanceOf(EnumTypeHandler.class);
       assertThat(config.isShrinkWhitespacesInSql()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
+      assertThat(config.isUseCompactMapResults()).isFalse();
+      assertThat(config.isAdaptiveFetchSizeEnabled()).isFalse();
+      assertThat(config.getAdaptiveFetchSizeMin()).isEqualTo(10);
+      assertThat(config.getAdaptiveFetchSizeMax()).isEqualTo(1000);
+      assertThat(config.getAdaptiveFetchSizeMaxColumnValues()).isEqualTo(100000);
+      assertThat(config.isDynamicSqlTemplateCacheEnabled()).isFalse();
+      assertThat(config.getOgnlExpressionCacheSize()).isEqualTo(1024);
+      assertThat(config.isForeachPositionalBindingEnabled()).isFalse();
+      assertThat(config.isForeachInListPaddingEnabled()).isFalse();
+      assertThat(config.isImmutableResultMappingEnabled()).isFalse();
     }
   }
 
@@ -198,6 +208,16 @@ class XmlConfigBuilderTest {
       assertThat(config.getConfigurationFactory().getName()).isEqualTo(String.class.getName());
       assertThat(config.isShrinkWhitespacesInSql()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
+      assertThat(config.isUseCompactMapResults()).isTrue();
+      assertThat(config.isAdaptiveFetchSizeEnabled()).isTrue();
+      assertThat(config.getAdaptiveFetchSizeMin()).isEqualTo(50);
+      assertThat(config.getAdaptiveFetchSizeMax()).isEqualTo(5000);
+      assertThat(config.getAdaptiveFetchSizeMaxColumnValues()).isEqualTo(200000);
+      assertThat(config.isDynamicSqlTemplateCacheEnabled()).isTrue();
+      assertThat(config.getOgnlExpressionCacheSize()).isEqualTo(64);
+      assertThat(config.isForeachPositionalBindingEnabled()).isTrue();
+      assertThat(config.isForeachInListPaddingEnabled()).isTrue();
+      assertThat(config.isImmutableResultMappingEnabled()).isTrue();
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
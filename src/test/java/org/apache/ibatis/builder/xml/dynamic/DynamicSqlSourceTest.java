@@ -16,15 +16,20 @@
 package org.apache.ibatis.builder.xml.dynamic;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.ibatis.BaseDataTest;
 import org.apache.ibatis.io.Resources;
@@ -36,11 +41,14 @@ import org.apache.ibatis.scripting.xmltags.IfSqlNode;
 import org.apache.ibatis.scripting.xmltags.MixedSqlNode;
 import org.apache.ibatis.scripting.xmltags.SetSqlNode;
 import org.apache.ibatis.scripting.xmltags.SqlNode;
+import org.apache.ibatis.scripting.xmltags.StaticTextSqlNode;
 import org.apache.ibatis.scripting.xmltags.TextSqlNode;
+import org.apache.ibatis.scripting.xmltags.VarDeclSqlNode;
 import org.apache.ibatis.scripting.xmltags.WhereSqlNode;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.type.JdbcType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -376,6 +384,263 @@ class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals("__frch_u_0", boundSql.getParameterMappings().get(3).getProperty());
   }
 
+  @Test
+  void shouldShareParameterMappingsOfSameBranches() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlTemplateCacheEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM BLOG"),
+        new WhereSqlNode(configuration, mixedContents(
+            new IfSqlNode(mixedContents(new StaticTextSqlNode("AND title = #{title}")), "title != null"),
+            new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("#{id}")), "ids", null, "id", "AND id in (", ")", ",")))));
+
+    BoundSql first = source.getBoundSql(searchParameter("one", 1, 2));
+    BoundSql second = source.getBoundSql(searchParameter("two", 3, 4));
+    assertEquals("SELECT * FROM BLOG WHERE  title = ?AND id in (?,?)", second.getSql());
+    assertSame(first.getParameterMappings(), second.getParameterMappings());
+    assertEquals(4, second.getAdditionalParameter("__frch_id_1"));
+
+    BoundSql other = source.getBoundSql(searchParameter(null, 5));
+    assertEquals("SELECT * FROM BLOG WHERE  id in (?)", other.getSql());
+    assertEquals(1, other.getParameterMappings().size());
+  }
+
+  @Test
+  void shouldOnlyHaveParameterBindersForCompiledStatements() {
+    Configuration configuration = new Configuration();
+    SqlNode statement = mixedContents(new StaticTextSqlNode("SELECT * FROM BLOG WHERE id = #{id}"));
+    Map<String, Object> parameter = Collections.singletonMap("id", 1);
+    DynamicSqlSource interpreted = new DynamicSqlSource(configuration, statement);
+    BoundSql uncached = interpreted.getBoundSql(parameter);
+    assertNull(interpreted.getParameterBinder(uncached.getParameterMappings(), parameter.getClass()));
+
+    configuration.setDynamicSqlTemplateCacheEnabled(true);
+    DynamicSqlSource compiled = new DynamicSqlSource(configuration, statement);
+    BoundSql cached = compiled.getBoundSql(parameter);
+    assertNotNull(compiled.getParameterBinder(cached.getParameterMappings(), parameter.getClass()));
+    assertSame(compiled.getParameterBinder(cached.getParameterMappings(), parameter.getClass()),
+        compiled.getParameterBinder(compiled.getBoundSql(parameter).getParameterMappings(), parameter.getClass()));
+  }
+
+  @Test
+  void shouldInterpretStatementsThatCannotBeCompiled() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlTemplateCacheEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM BLOG"),
+        context -> {
+          context.appendSql("WHERE author_id = #{id}");
+          return true;
+        }));
+
+    Map<String, Object> parameter = Collections.singletonMap("id", 1);
+    BoundSql boundSql = source.getBoundSql(parameter);
+    assertEquals("SELECT * FROM BLOG WHERE author_id = ?", boundSql.getSql());
+    assertEquals("id", boundSql.getParameterMappings().get(0).getProperty());
+    assertNull(source.getParameterBinder(boundSql.getParameterMappings(), parameter.getClass()));
+  }
+
+  @Test
+  void shouldNotReuseParameterMappingsWhenBindingTypeChanges() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlTemplateCacheEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM BLOG WHERE id in"),
+        new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("#{id}")), "ids", null, "id", "(", ")", ",")));
+
+    BoundSql integers = source.getBoundSql(searchParameter(null, 1, 2));
+    Map<String, Object> strings = new HashMap<>();
+    strings.put("ids", Arrays.asList("a", "b"));
+    BoundSql stringBoundSql = source.getBoundSql(strings);
+    assertEquals(Integer.class, integers.getParameterMappings().get(0).getJavaType());
+    assertEquals(String.class, stringBoundSql.getParameterMappings().get(0).getJavaType());
+  }
+
+  @Test
+  void shouldEvaluateBindingsOncePerExecution() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlTemplateCacheEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new VarDeclSqlNode("n", "counter.incrementAndGet()"),
+        new StaticTextSqlNode("SELECT * FROM BLOG WHERE n = #{n}"),
+        new IfSqlNode(mixedContents(new StaticTextSqlNode("AND title = #{title}")), "title != null")));
+
+    AtomicInteger counter = new AtomicInteger();
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("counter", counter);
+    parameter.put("title", "one");
+    assertEquals(1, source.getBoundSql(parameter).getAdditionalParameter("n"));
+    assertEquals(2, source.getBoundSql(parameter).getAdditionalParameter("n"));
+    parameter.put("title", null);
+    BoundSql other = source.getBoundSql(parameter);
+    assertEquals("SELECT * FROM BLOG WHERE n = ?", other.getSql());
+    assertEquals(3, other.getAdditionalParameter("n"));
+    assertEquals(3, counter.get());
+  }
+
+  @Test
+  void shouldSubstituteDollarExpressionsOfCompiledStatements() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlTemplateCacheEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new TextSqlNode("SELECT * FROM ${table} WHERE title = #{title}")));
+
+    Map<String, Object> blog = new HashMap<>();
+    blog.put("table", "BLOG");
+    Map<String, Object> post = new HashMap<>();
+    post.put("table", "POST");
+    assertEquals("SELECT * FROM BLOG WHERE title = ?", source.getBoundSql(blog).getSql());
+    BoundSql second = source.getBoundSql(post);
+    assertEquals("SELECT * FROM POST WHERE title = ?", second.getSql());
+    assertEquals("title", second.getParameterMappings().get(0).getProperty());
+  }
+
+  @Test
+  void shouldRenderDifferentBranchesOfEqualLength() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlTemplateCacheEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM BLOG WHERE 1 = 1"),
+        new ForEachSqlNode(configuration, mixedContents(
+            new IfSqlNode(mixedContents(new StaticTextSqlNode("AND id = #{id}")), "id > 2")), "ids", null, "id", null, null, null),
+        new IfSqlNode(mixedContents(
+            new StaticTextSqlNode("AND c = 1"),
+            new IfSqlNode(mixedContents(new StaticTextSqlNode("AND a = 1")), "a")), "c")));
+
+    Map<String, Object> withC = new HashMap<>();
+    withC.put("ids", new ArrayList<>());
+    withC.put("c", true);
+    withC.put("a", false);
+    Map<String, Object> withoutC = new HashMap<>();
+    withoutC.put("ids", Arrays.asList(1));
+    withoutC.put("c", false);
+    withoutC.put("a", false);
+    assertEquals("SELECT * FROM BLOG WHERE 1 = 1 AND c = 1", source.getBoundSql(withC).getSql());
+    assertEquals("SELECT * FROM BLOG WHERE 1 = 1", source.getBoundSql(withoutC).getSql());
+  }
+
+  @Test
+  void shouldShrinkWhitespacesWhileAssemblingSql() {
+    Configuration configuration = new Configuration();
+    configuration.setShrinkWhitespacesInSql(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("\n  SELECT *\t FROM BLOG\n"),
+        new WhereSqlNode(configuration, mixedContents(
+            new IfSqlNode(mixedContents(new StaticTextSqlNode("  and   title = #{title}\n")), "title != null"),
+            new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode(" #{id} ")), "ids", null, "id", "AND id in (", ")", ",")))));
+
+    BoundSql boundSql = source.getBoundSql(searchParameter("one", 1, 2));
+    assertEquals("SELECT * FROM BLOG WHERE title = ? AND id in ( ? , ? )", boundSql.getSql());
+    assertEquals(3, boundSql.getParameterMappings().size());
+  }
+
+  @Test
+  void shouldAssembleSqlOfNestedExecutions() {
+    Configuration configuration = new Configuration();
+    DynamicSqlSource inner = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT id FROM AUTHOR WHERE name = #{name}")));
+    List<String> innerSql = new ArrayList<>();
+    DynamicSqlSource outer = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM BLOG"),
+        context -> {
+          innerSql.add(inner.getBoundSql(new HashMap<>()).getSql());
+          context.appendSql("WHERE author_id = #{id}");
+          return true;
+        }));
+
+    assertEquals("SELECT * FROM BLOG WHERE author_id = ?", outer.getBoundSql(new HashMap<>()).getSql());
+    assertEquals("SELECT id FROM AUTHOR WHERE name = ?", innerSql.get(0));
+    assertEquals("SELECT * FROM BLOG WHERE author_id = ?", outer.getBoundSql(new HashMap<>()).getSql());
+  }
+
+  @Test
+  void shouldBindSimpleForEachItemsByPosition() {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPositionalBindingEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM BLOG WHERE id in"),
+        new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("\n  #{id, jdbcType=INTEGER}\n")), "ids", "i", "id", "(", ")", ",")));
+
+    BoundSql boundSql = source.getBoundSql(searchParameter(null, 1, 2, 3));
+    assertEquals("SELECT * FROM BLOG WHERE id in (?,?,?)", boundSql.getSql());
+    assertEquals(3, boundSql.getParameterMappings().size());
+    assertEquals("__frch_id_0[2]", boundSql.getParameterMappings().get(2).getProperty());
+    assertEquals(Integer.class, boundSql.getParameterMappings().get(2).getJavaType());
+    assertEquals(JdbcType.INTEGER, boundSql.getParameterMappings().get(2).getJdbcType());
+    assertEquals(3, boundSql.getAdditionalParameter("__frch_id_0[2]"));
+  }
+
+  @Test
+  void shouldPadPositionalForEachToPowerOfTwo() {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPositionalBindingEnabled(true);
+    configuration.setForeachInListPaddingEnabled(true);
+    configuration.setDynamicSqlTemplateCacheEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM BLOG WHERE id in"),
+        new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("#{id}")), "ids", null, "id", "(", ")", ",")));
+
+    BoundSql three = source.getBoundSql(searchParameter(null, 1, 2, 3));
+    assertEquals("SELECT * FROM BLOG WHERE id in (?,?,?,?)", three.getSql());
+    assertEquals("__frch_id_0[2]", three.getParameterMappings().get(3).getProperty());
+    BoundSql four = source.getBoundSql(searchParameter(null, 1, 2, 3, 4));
+    assertEquals(three.getSql(), four.getSql());
+    assertEquals("__frch_id_0[3]", four.getParameterMappings().get(3).getProperty());
+    assertEquals(4, four.getAdditionalParameter("__frch_id_0[3]"));
+    BoundSql one = source.getBoundSql(searchParameter(null, 1));
+    assertEquals("SELECT * FROM BLOG WHERE id in (?)", one.getSql());
+  }
+
+  @Test
+  void shouldResolveTypeOfPositionalItemsFromTheirValues() {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPositionalBindingEnabled(true);
+    for (boolean compiled : new boolean[] { false, true }) {
+      configuration.setDynamicSqlTemplateCacheEnabled(compiled);
+      DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+          new StaticTextSqlNode("SELECT * FROM BLOG WHERE id in"),
+          new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("#{id}")), "ids", null, "id", "(", ")", ",")));
+      Map<String, Object> parameter = new HashMap<>();
+      parameter.put("ids", Arrays.asList(1, "2"));
+
+      BoundSql boundSql = source.getBoundSql(parameter);
+      assertEquals(Integer.class, boundSql.getParameterMappings().get(0).getJavaType());
+      assertEquals(String.class, boundSql.getParameterMappings().get(1).getJavaType());
+    }
+  }
+
+  @Test
+  void shouldNotResolveTypeOfIndexedBindingsFromTheirValues() {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPositionalBindingEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new VarDeclSqlNode("x", "ids"),
+        new StaticTextSqlNode("SELECT * FROM BLOG WHERE id = #{x[0]}")));
+
+    BoundSql boundSql = source.getBoundSql(searchParameter(null, 1, 2));
+    assertEquals(Object.class, boundSql.getParameterMappings().get(0).getJavaType());
+  }
+
+  @Test
+  void shouldApplyForEachBodyThatIsNotASinglePlaceholder() {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPositionalBindingEnabled(true);
+    DynamicSqlSource source = new DynamicSqlSource(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM BLOG WHERE"),
+        new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("id = #{id}")), "ids", null, "id", null, null, "OR")));
+
+    BoundSql boundSql = source.getBoundSql(searchParameter(null, 1, 2));
+    assertEquals("SELECT * FROM BLOG WHERE  id = ? OR id = ?", boundSql.getSql());
+    assertEquals("__frch_id_1", boundSql.getParameterMappings().get(1).getProperty());
+  }
+
+  private Map<String, Object> searchParameter(String title, Integer... ids) {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("title", title);
+    parameter.put("ids", Arrays.asList(ids));
+    return parameter;
+  }
+
   private DynamicSqlSource createDynamicSqlSource(SqlNode... contents) throws IOException, SQLException {
     createBlogDataSource();
     final String resource = "org/apache/ibatis/builder/MapperConfig.xml";
@@ -399,6 +664,33 @@ class DynamicSqlSourceTest extends BaseDataTest {
     Assertions.assertEquals("id=", sql);
   }
 
+  @Test
+  void shouldSubstituteEachExpressionOfText() {
+    TextSqlNode node = new TextSqlNode("SELECT * FROM BLOG_${suffix} WHERE note = '\\${suffix}' AND id = ${id} ${");
+    final DynamicSqlSource source = new DynamicSqlSource(new Configuration(), mixedContents(node));
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("suffix", "2024");
+    parameter.put("id", 7);
+    assertEquals("SELECT * FROM BLOG_2024 WHERE note = '${suffix}' AND id = 7 ${", source.getBoundSql(parameter).getSql());
+    parameter.put("suffix", "2025");
+    assertEquals("SELECT * FROM BLOG_2025 WHERE note = '${suffix}' AND id = 7 ${", source.getBoundSql(parameter).getSql());
+    Assertions.assertTrue(node.isDynamic());
+    Assertions.assertFalse(new TextSqlNode("SELECT '\\${escaped}'").isDynamic());
+  }
+
+  @Test
+  void shouldUseBindingsAsAdditionalParameters() {
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(), mixedContents(
+        new VarDeclSqlNode("pattern", "'%' + id + '%'"),
+        new StaticTextSqlNode("SELECT * FROM BLOG WHERE title like #{pattern}")));
+    BoundSql boundSql = source.getBoundSql(new Bean("x"));
+    assertEquals("SELECT * FROM BLOG WHERE title like ?", boundSql.getSql());
+    assertEquals("%x%", boundSql.getAdditionalParameter("pattern"));
+    Assertions.assertTrue(boundSql.hasAdditionalParameter("_parameter"));
+    Assertions.assertFalse(boundSql.hasAdditionalParameter("id"));
+    Assertions.assertNull(boundSql.getAdditionalParameter("id"));
+  }
+
   public static class Bean {
     public String id;
     Bean(String property) {
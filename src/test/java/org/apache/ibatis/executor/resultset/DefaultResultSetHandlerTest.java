@@ -16,6 +16,8 @@
 package org.apache.ibatis.executor.resultset;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -129,6 +131,56 @@ class DefaultResultSetHandlerTest {
     }
   }
 
+  @Test
+  void shouldNotCollectImmutableValuesForNestedProperties() {
+    final MappedStatement ms = getMappedStatement();
+    final Configuration config = ms.getConfiguration();
+    config.setImmutableResultMappingEnabled(true);
+    final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
+    final DefaultResultSetHandler defaultResultSetHandler = new DefaultResultSetHandler(null/*executor*/, ms,
+            null/*parameterHandler*/, null/*resultHandler*/, null/*boundSql*/, new RowBounds(0, 100));
+
+    ResultMap flat = new ResultMap.Builder(config, "flat", Item.class, Collections.singletonList(
+        new ResultMapping.Builder(config, "name", "name", registry.getTypeHandler(String.class)).build())).build();
+    ResultMap nested = new ResultMap.Builder(config, "nested", Item.class, Collections.singletonList(
+        new ResultMapping.Builder(config, "tags.size", "size", registry.getTypeHandler(Integer.class)).build())).build();
+    assertTrue(defaultResultSetHandler.canUseImmutableObjectWrapper(flat));
+    assertFalse(defaultResultSetHandler.canUseImmutableObjectWrapper(nested));
+  }
+
+  public static class Item {
+    private final String name;
+    private final List<String> tags;
+
+    private Item(Builder builder) {
+      this.name = builder.name;
+      this.tags = builder.tags;
+    }
+
+    public static Builder builder() {
+      return new Builder();
+    }
+
+    public static class Builder {
+      private String name;
+      private List<String> tags;
+
+      public Builder name(String name) {
+        this.name = name;
+        return this;
+      }
+
+      public Builder tags(List<String> tags) {
+        this.tags = tags;
+        return this;
+      }
+
+      public Item build() {
+        return new Item(this);
+      }
+    }
+  }
+
   MappedStatement getMappedStatement() {
     final Configuration config = new Configuration();
     final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
@@ -0,0 +1,65 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.mapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class FetchSizeStatisticsTest {
+
+  @Test
+  void shouldNotChooseFetchSizeBeforeFirstExecution() {
+    FetchSizeStatistics statistics = new FetchSizeStatistics();
+    assertNull(statistics.getFetchSize(10, 1000, 100000));
+    assertEquals(0, statistics.getLastFetchSize());
+  }
+
+  @Test
+  void shouldFollowAverageRowCount() {
+    FetchSizeStatistics statistics = new FetchSizeStatistics();
+    statistics.record(200, 5);
+    assertEquals(201, statistics.getFetchSize(10, 1000, 100000).intValue());
+    statistics.record(600, 5);
+    assertEquals(301, statistics.getFetchSize(10, 1000, 100000).intValue());
+    assertEquals(2, statistics.getExecutions());
+    assertEquals(800, statistics.getTotalRows());
+    assertEquals(600, statistics.getMaxRows());
+    assertEquals(300.0, statistics.getAverageRows());
+    assertEquals(301, statistics.getLastFetchSize());
+  }
+
+  @Test
+  void shouldStayWithinBounds() {
+    FetchSizeStatistics statistics = new FetchSizeStatistics();
+    statistics.record(1, 3);
+    assertEquals(10, statistics.getFetchSize(10, 1000, 100000).intValue());
+    statistics = new FetchSizeStatistics();
+    statistics.record(50000, 3);
+    assertEquals(1000, statistics.getFetchSize(10, 1000, 100000).intValue());
+  }
+
+  @Test
+  void shouldLimitColumnValuesOfWideRows() {
+    FetchSizeStatistics statistics = new FetchSizeStatistics();
+    statistics.record(800, 400);
+    assertEquals(250, statistics.getFetchSize(10, 1000, 100000).intValue());
+    statistics.record(800, 100000);
+    assertEquals(10, statistics.getFetchSize(10, 1000, 100000).intValue());
+  }
+
+}
@@ -0,0 +1,128 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+class CompactParamMapTest {
+
+  @Test
+  void shouldResolveNamedAndGenericParams() throws Exception {
+    Map<String, Object> params = namedParams("select", 1, RowBounds.DEFAULT, "name");
+    assertTrue(params instanceof CompactParamMap);
+    assertEquals(4, params.size());
+    assertEquals(1, params.get("id"));
+    assertEquals(1, params.get("param1"));
+    assertEquals("name", params.get("name"));
+    assertEquals("name", params.get("param2"));
+    assertTrue(params.containsKey("param2"));
+    assertFalse(params.containsKey("param3"));
+    assertEquals(expected(), params);
+  }
+
+  @Test
+  void shouldNotOverwriteParamNamedLikeGenericName() throws Exception {
+    Map<String, Object> params = namedParams("generic", 1, 2);
+    assertEquals(3, params.size());
+    assertEquals(1, params.get("param2"));
+    assertEquals(1, params.get("param1"));
+    assertEquals(2, params.get("b"));
+  }
+
+  @Test
+  void shouldThrowForUnknownParam() throws Exception {
+    Map<String, Object> params = namedParams("select", 1, RowBounds.DEFAULT, "name");
+    BindingException e = assertThrows(BindingException.class, () -> params.get("other"));
+    assertTrue(e.getMessage().startsWith("Parameter 'other' not found. Available parameters are"));
+    assertNull(params.getOrDefault("other", null));
+  }
+
+  @Test
+  void shouldCopyOnWrite() throws Exception {
+    Map<String, Object> params = namedParams("select", 1, RowBounds.DEFAULT, "name");
+    params.put("param1", 2);
+    params.put("extra", "value");
+    assertEquals(1, params.get("id"));
+    assertEquals(2, params.get("param1"));
+    assertEquals("value", params.get("extra"));
+    assertEquals(5, params.size());
+    assertThrows(BindingException.class, () -> params.get("other"));
+    params.remove("extra");
+    assertEquals(4, params.entrySet().size());
+  }
+
+  @Test
+  void shouldSerializeEntries() throws Exception {
+    Map<String, Object> params = namedParams("select", 1, RowBounds.DEFAULT, "name");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(params);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Object copy = in.readObject();
+      assertSame(CompactParamMap.class, copy.getClass());
+      assertEquals(expected(), copy);
+    }
+  }
+
+  private static Map<String, Object> expected() {
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("id", 1);
+    expected.put("param1", 1);
+    expected.put("name", "name");
+    expected.put("param2", "name");
+    return expected;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> namedParams(String methodName, Object... args) throws Exception {
+    for (Method method : Mapper.class.getMethods()) {
+      if (method.getName().equals(methodName)) {
+        Object params = new ParamNameResolver(new Configuration(), method).getNamedParams(args);
+        assertTrue(params instanceof ParamMap);
+        return (Map<String, Object>) params;
+      }
+    }
+    throw new IllegalArgumentException(methodName);
+  }
+
+  interface Mapper {
+    Object select(@Param("id") int id, RowBounds rowBounds, @Param("name") String name);
+
+    Object generic(@Param("param2") int a, @Param("b") int b);
+  }
+
+}
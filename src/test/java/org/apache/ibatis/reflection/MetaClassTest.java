@@ -17,6 +17,7 @@ package org.apache.ibatis.reflection;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
@@ -141,4 +142,18 @@ class MetaClassTest {
     assertEquals("richField", meta.findProperty("RICHfield"));
   }
 
+  @Test
+  void shouldFindSamePropertyNamesOnRepeatedLookups() {
+    ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    for (int i = 0; i < 2; i++) {
+      MetaClass meta = MetaClass.forClass(RichType.class, reflectorFactory);
+      assertEquals("richField", meta.findProperty("RICH_FIELD", true));
+      assertNull(meta.findProperty("RICH_FIELD", false));
+      assertEquals("richType.richProperty", meta.findProperty("RICH_TYPE.RICH_PROPERTY", true));
+      assertEquals("richType.richProperty", meta.findProperty("richtype.richproperty"));
+      assertNull(meta.findProperty("unknown", true));
+      assertNull(meta.findProperty("unknown"));
+    }
+  }
+
 }
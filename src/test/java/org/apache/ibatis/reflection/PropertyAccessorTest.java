@@ -0,0 +1,146 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.domain.misc.RichType;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.junit.jupiter.api.Test;
+
+class PropertyAccessorTest {
+
+  private final ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+
+  @Test
+  void shouldBeCachedByTypeAndPath() {
+    PropertyAccessor accessor = PropertyAccessor.forPath(RichType.class, "richType.richField", reflectorFactory);
+    assertSame(accessor, PropertyAccessor.forPath(RichType.class, "richType.richField", reflectorFactory));
+  }
+
+  @Test
+  void shouldStopCachingWhenThereAreTooManyPaths() {
+    for (int i = 0; i < 2000; i++) {
+      PropertyAccessor.forPath(Keys.class, "key" + i, reflectorFactory);
+    }
+    assertSame(PropertyAccessor.forPath(Keys.class, "key0", reflectorFactory),
+        PropertyAccessor.forPath(Keys.class, "key0", reflectorFactory));
+    assertNotSame(PropertyAccessor.forPath(Keys.class, "key1999", reflectorFactory),
+        PropertyAccessor.forPath(Keys.class, "key1999", reflectorFactory));
+    Keys keys = new Keys();
+    set(keys, "key1999", "value");
+    assertEquals("value", get(keys, "key1999"));
+  }
+
+  @Test
+  void shouldReadNestedBeanProperties() {
+    RichType rich = new RichType();
+    rich.setRichType(new RichType());
+    rich.getRichType().setRichProperty("foo");
+    assertEquals("foo", get(rich, "richType.richProperty"));
+    assertNull(get(rich, "richType.richType.richProperty"));
+  }
+
+  @Test
+  void shouldReadMapsListsAndArrays() {
+    RichType rich = new RichType();
+    rich.getRichMap().put("numbers", new int[] { 1, 2, 3 });
+    rich.getRichMap().put("key", "value");
+    assertEquals("bar", get(rich, "richList[0]"));
+    assertEquals("value", get(rich, "richMap.key"));
+    assertEquals("value", get(rich, "richMap[key]"));
+    assertEquals(3, get(rich, "richMap.numbers[2]"));
+  }
+
+  @Test
+  void shouldWriteNestedProperties() {
+    RichType rich = new RichType();
+    set(rich, "richType.richField", "foo");
+    set(rich, "richType.richMap.key", "value");
+    set(rich, "richList[0]", "baz");
+    assertNotNull(rich.getRichType());
+    assertEquals("foo", SystemMetaObject.forObject(rich).getValue("richType.richField"));
+    assertEquals("value", rich.getRichType().getRichMap().get("key"));
+    assertEquals("baz", rich.getRichList().get(0));
+  }
+
+  @Test
+  void shouldNotInstantiatePathForNullValue() {
+    RichType rich = new RichType();
+    set(rich, "richType.richField", null);
+    assertNull(rich.getRichType());
+  }
+
+  @Test
+  void shouldReadFromMapRoot() {
+    Map<String, Object> map = new HashMap<>();
+    RichType rich = new RichType();
+    rich.setRichProperty("foo");
+    map.put("rich", rich);
+    assertEquals("foo", get(map, "rich.richProperty"));
+    set(map, "other.name", "bar");
+    assertEquals("bar", ((Map<?, ?>) map.get("other")).get("name"));
+  }
+
+  @Test
+  void shouldFollowTheClassOfEachValue() {
+    RichType rich = new RichType();
+    rich.setRichType(new RichType());
+    rich.getRichType().setRichProperty("foo");
+    assertEquals("foo", get(rich, "richType.richProperty"));
+    rich.setRichType(new ExtendedRichType());
+    rich.getRichType().setRichProperty("bar");
+    assertEquals("bar!", get(rich, "richType.richProperty"));
+  }
+
+  @Test
+  void shouldFailLikeMetaObject() {
+    RichType rich = new RichType();
+    ReflectionException e = assertThrows(ReflectionException.class, () -> get(rich, "foo"));
+    assertEquals("There is no getter for property named 'foo' in '" + RichType.class + "'", e.getMessage());
+    rich.getRichMap().put("key", "value");
+    assertThrows(ReflectionException.class, () -> set(rich, "richMap.key.foo", "value"));
+    assertThrows(UnsupportedOperationException.class, () -> get(rich, "richList.size"));
+  }
+
+  private Object get(Object object, String path) {
+    return PropertyAccessor.forPath(object.getClass(), path, reflectorFactory).getValue(object, reflectorFactory);
+  }
+
+  private void set(Object object, String path, Object value) {
+    PropertyAccessor.forPath(object.getClass(), path, reflectorFactory).setValue(object, value, new DefaultObjectFactory(), reflectorFactory);
+  }
+
+  static class ExtendedRichType extends RichType {
+    @Override
+    public String getRichProperty() {
+      return super.getRichProperty() + "!";
+    }
+  }
+
+  static class Keys extends HashMap<String, Object> {
+    private static final long serialVersionUID = 1L;
+  }
+
+}
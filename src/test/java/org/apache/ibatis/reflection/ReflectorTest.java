@@ -20,6 +20,7 @@ import static org.assertj.core.api.BDDAssertions.then;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -321,4 +322,46 @@ class ReflectorTest {
             "Ambiguous setters defined for property 'bool' in class '" + Bean.class.getName().replace("$", "\\$")
                 + "' with types '(java.lang.Integer|boolean)' and '(java.lang.Integer|boolean)'\\.");
   }
+
+  @Test
+  void shouldShareReflectorsBetweenFactories() {
+    Reflector reflector = new DefaultReflectorFactory().findForClass(Section.class);
+    assertSame(reflector, new DefaultReflectorFactory().findForClass(Section.class));
+    ReflectorFactory uncached = new DefaultReflectorFactory();
+    uncached.setClassCacheEnabled(false);
+    assertNotSame(reflector, uncached.findForClass(Section.class));
+  }
+
+  @Test
+  void shouldNotShareReflectorsOfClassesFromParentLoaders() {
+    ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    Reflector reflector = reflectorFactory.findForClass(ArrayList.class);
+    assertSame(reflector, reflectorFactory.findForClass(ArrayList.class));
+    assertNotSame(reflector, new DefaultReflectorFactory().findForClass(ArrayList.class));
+    assertTrue(DefaultReflectorFactory.isShareable(Section.class));
+    assertFalse(DefaultReflectorFactory.isShareable(ArrayList.class));
+  }
+
+  static class GenericHolder<T> {
+    public T getValue() {
+      return null;
+    }
+
+    public void setValue(T value) {
+    }
+  }
+
+  static class StringHolder extends GenericHolder<String> {
+    public void setValue(Integer value) {
+    }
+  }
+
+  @Test
+  void shouldResolveGenericTypesOnFirstUse() {
+    Reflector reflector = new Reflector(StringHolder.class);
+    assertEquals(Integer.class, reflector.getSetterType("value"));
+    assertEquals(String.class, reflector.getGetterType("value"));
+    assertSame(reflector.getGetterType("value"), reflector.getGetterType("value"));
+    assertThrows(ReflectionException.class, () -> reflector.getGetterType("missing"));
+  }
 }
@@ -0,0 +1,75 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.junit.jupiter.api.Test;
+
+class ConstructorInstantiatorTest {
+
+  @Test
+  void shouldCreateInstancesWithReusedArguments() throws Exception {
+    ConstructorInstantiator instantiator = ConstructorInstantiator
+        .forConstructor(TestClass.class.getDeclaredConstructor(String.class, Integer.class));
+    assertNotNull(instantiator);
+    Object[] args = new Object[2];
+
+    args[0] = "foo";
+    args[1] = 1;
+    TestClass first = (TestClass) instantiator.newInstance(args);
+    args[0] = "bar";
+    args[1] = 2;
+    TestClass second = (TestClass) instantiator.newInstance(args);
+
+    assertEquals("foo", first.myString);
+    assertEquals((Integer) 1, first.myInteger);
+    assertEquals("bar", second.myString);
+    assertEquals((Integer) 2, second.myInteger);
+  }
+
+  @Test
+  void shouldInvokePrivateConstructorWithPrimitives() throws Exception {
+    ConstructorInstantiator instantiator = ConstructorInstantiator
+        .forConstructor(PrivateSubject.class.getDeclaredConstructor(int.class, long.class));
+    PrivateSubject subject = (PrivateSubject) instantiator.newInstance(new Object[] { 3, 4L });
+    assertEquals(3, subject.id);
+    assertEquals(4L, subject.total);
+  }
+
+  @Test
+  void shouldReportInvalidArguments() throws Exception {
+    ConstructorInstantiator instantiator = ConstructorInstantiator
+        .forConstructor(PrivateSubject.class.getDeclaredConstructor(int.class, long.class));
+    ReflectionException e = assertThrows(ReflectionException.class, () -> instantiator.newInstance(new Object[] { null, 4L }));
+    assertTrue(e.getMessage().contains("(int,long)"));
+    assertTrue(e.getMessage().contains("(null,4)"));
+  }
+
+  private static class PrivateSubject {
+    private final int id;
+    private final long total;
+
+    private PrivateSubject(int id, long total) {
+      this.id = id;
+      this.total = total;
+    }
+  }
+}
@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -94,4 +95,47 @@ class DefaultObjectFactoryTest {
     Set set = defaultObjectFactory.create(Set.class);
     Assertions.assertTrue(set instanceof HashSet, " set should be HashSet");
   }
+
+  @Test
+  void createClassWithPrivateConstructorRepeatedly() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    for (int i = 0; i < 3; i++) {
+      Assertions.assertTrue(defaultObjectFactory.create(PrivateConstructor.class) instanceof PrivateConstructor);
+    }
+  }
+
+  @Test
+  void createClassWithReusedArgTypes() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    List<Class<?>> argTypes = new ArrayList<>(Arrays.asList(String.class, Integer.class));
+    TestClass testClass = defaultObjectFactory.create(TestClass.class, argTypes, Arrays.asList("foo", 1));
+    Assertions.assertEquals((Integer) 1, testClass.myInteger);
+
+    argTypes.set(1, String.class);
+    Assertions.assertThrows(ReflectionException.class,
+        () -> defaultObjectFactory.create(TestClass.class, argTypes, Arrays.asList("foo", "bar")));
+    Assertions.assertEquals("bar", defaultObjectFactory.create(TestClass.class,
+        Arrays.asList(String.class, Integer.class), Arrays.asList("bar", 2)).myString);
+  }
+
+  @Test
+  void createInterfaceThrowsProperErrorMsg() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    ReflectionException e = Assertions.assertThrows(ReflectionException.class, () -> defaultObjectFactory.create(Runnable.class));
+    Assertions.assertTrue(e.getMessage().startsWith("Error instantiating interface java.lang.Runnable"));
+  }
+
+  @Test
+  void createClassesOfParentClassLoadersWithoutCachingThem() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    Assertions.assertTrue(defaultObjectFactory.create(LinkedList.class) instanceof LinkedList);
+    StringBuilder builder = defaultObjectFactory.create(StringBuilder.class,
+        Collections.singletonList(String.class), Collections.singletonList("foo"));
+    Assertions.assertEquals("foo", builder.toString());
+  }
+
+  static class PrivateConstructor {
+    private PrivateConstructor() {
+    }
+  }
 }
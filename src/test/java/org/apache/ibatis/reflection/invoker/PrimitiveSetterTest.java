@@ -0,0 +1,100 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveSetterTest {
+
+  @Test
+  void shouldSetPrimitivePropertiesWithoutBoxing() throws Throwable {
+    Bean bean = new Bean();
+    PrimitiveSetter age = PrimitiveSetter.forInvoker(new MethodInvoker(Bean.class.getMethod("setAge", int.class)));
+    assertEquals(int.class, age.getType());
+    age.setInt(bean, 42);
+    assertEquals(42, bean.getAge());
+    PrimitiveSetter total = PrimitiveSetter.forInvoker(new MethodInvoker(Bean.class.getMethod("setTotal", long.class)));
+    total.setLong(bean, 7L);
+    assertEquals(7L, bean.getTotal());
+
+    Hidden hidden = new Hidden();
+    PrimitiveSetter count = PrimitiveSetter.forInvoker(new SetFieldInvoker(Hidden.class.getDeclaredField("count")));
+    count.setInt(hidden, 3);
+    assertEquals(3, hidden.count);
+  }
+
+  @Test
+  void shouldSetPrimitivePropertiesOfNonPublicClass() throws Throwable {
+    Hidden hidden = new Hidden();
+    PrimitiveSetter flag = PrimitiveSetter.forInvoker(new MethodInvoker(Hidden.class.getDeclaredMethod("setFlag", boolean.class)));
+    flag.setBoolean(hidden, true);
+    assertEquals(true, hidden.flag);
+  }
+
+  @Test
+  void shouldNotCreatePrimitiveSetterForOtherInvokers() throws Exception {
+    assertNull(PrimitiveSetter.forInvoker(new MethodInvoker(Bean.class.getMethod("setName", String.class))));
+    assertNull(PrimitiveSetter.forInvoker(new MethodInvoker(Bean.class.getMethod("getAge"))));
+    assertNull(PrimitiveSetter.forInvoker(new SetFieldInvoker(Hidden.class.getDeclaredField("value"))));
+    assertNull(PrimitiveSetter.forInvoker(new SetFieldInvoker(Hidden.class.getDeclaredField("id"))));
+    assertNull(PrimitiveSetter.forInvoker(new GetFieldInvoker(Hidden.class.getDeclaredField("count"))));
+  }
+
+  public static class Bean {
+    private String name;
+    private int age;
+    private long total;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+
+    public long getTotal() {
+      return total;
+    }
+
+    public void setTotal(long total) {
+      this.total = total;
+    }
+  }
+
+  static class Hidden {
+    private final int id = 1;
+    private int count;
+    private boolean flag;
+    private String value;
+
+    private void setFlag(boolean flag) {
+      this.flag = flag;
+    }
+  }
+
+}
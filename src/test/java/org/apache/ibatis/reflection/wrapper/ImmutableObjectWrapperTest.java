@@ -0,0 +1,168 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.wrapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.junit.jupiter.api.Test;
+
+class ImmutableObjectWrapperTest {
+
+  @Test
+  void shouldDescribeClassesWithBuilder() {
+    ImmutableType type = ImmutableType.forClass(Item.class);
+    assertSame(type, ImmutableType.forClass(Item.class));
+    assertArrayEquals(new String[] { "id", "itemName", "price", "tags" }, type.getNames());
+    assertEquals(int.class, type.getComponentType(type.indexOf("id")));
+    assertEquals(-1, type.indexOf("unknown"));
+  }
+
+  @Test
+  void shouldNotDescribeMutableClasses() {
+    assertNull(ImmutableType.forClass(String.class));
+    assertNull(ImmutableType.forClass(ArrayList.class));
+    assertNull(ImmutableType.forClass(Ambiguous.class));
+  }
+
+  @Test
+  void shouldBuildFromValuesSetThroughMetaObject() {
+    ImmutableObjectWrapper wrapper = ImmutableType.forClass(Item.class).newWrapper();
+    MetaObject metaObject = SystemMetaObject.forObject(wrapper);
+    assertTrue(metaObject.hasSetter("itemName"));
+    assertFalse(metaObject.hasSetter("name"));
+    assertEquals(double.class, metaObject.getSetterType("price"));
+    assertEquals("itemName", metaObject.findProperty("ITEM_NAME", true));
+    assertNull(metaObject.findProperty("ITEM_NAME", false));
+
+    metaObject.setValue("id", 7);
+    metaObject.setValue("itemName", "pen");
+    assertEquals("pen", metaObject.getValue("itemName"));
+    Item item = (Item) wrapper.build();
+    assertEquals(7, item.id);
+    assertEquals("pen", item.itemName);
+    // not set, keeps the builder default
+    assertEquals(1.5, item.price);
+  }
+
+  @Test
+  void shouldPassDefaultForNullPrimitive() {
+    ImmutableObjectWrapper wrapper = ImmutableType.forClass(Item.class).newWrapper();
+    MetaObject metaObject = SystemMetaObject.forObject(wrapper);
+    metaObject.setValue("price", null);
+    assertEquals(0.0, ((Item) wrapper.build()).price);
+  }
+
+  @Test
+  void shouldSetIndexedValue() {
+    ImmutableObjectWrapper wrapper = ImmutableType.forClass(Item.class).newWrapper();
+    MetaObject metaObject = SystemMetaObject.forObject(wrapper);
+    List<String> tags = new ArrayList<>();
+    tags.add("a");
+    metaObject.setValue("tags", tags);
+    metaObject.setValue("tags[0]", "b");
+    assertEquals("b", metaObject.getValue("tags[0]"));
+    assertEquals("b", ((Item) wrapper.build()).tags.get(0));
+  }
+
+  @Test
+  void shouldRejectUnknownProperty() {
+    MetaObject metaObject = SystemMetaObject.forObject(ImmutableType.forClass(Item.class).newWrapper());
+    assertThrows(ReflectionException.class, () -> metaObject.setValue("unknown", 1));
+    assertThrows(UnsupportedOperationException.class, () -> metaObject.setValue("tags.size", 1));
+  }
+
+  public static class Item {
+    private final int id;
+    private final String itemName;
+    private final double price;
+    private final List<String> tags;
+
+    private Item(Builder builder) {
+      this.id = builder.id;
+      this.itemName = builder.itemName;
+      this.price = builder.price;
+      this.tags = builder.tags;
+    }
+
+    public static Builder builder() {
+      return new Builder();
+    }
+
+    public static class Builder {
+      private int id;
+      private String itemName;
+      private double price = 1.5;
+      private List<String> tags;
+
+      public Builder id(int id) {
+        this.id = id;
+        return this;
+      }
+
+      public Builder withItemName(String itemName) {
+        this.itemName = itemName;
+        return this;
+      }
+
+      public Builder setPrice(double price) {
+        this.price = price;
+        return this;
+      }
+
+      public Builder tags(List<String> tags) {
+        this.tags = tags;
+        return this;
+      }
+
+      public Item build() {
+        return new Item(this);
+      }
+    }
+  }
+
+  public static class Ambiguous {
+    public static Builder builder() {
+      return new Builder();
+    }
+
+    public static class Builder {
+      public Builder value(int value) {
+        return this;
+      }
+
+      public Builder value(String value) {
+        return this;
+      }
+
+      public Ambiguous build() {
+        return new Ambiguous();
+      }
+    }
+  }
+
+}
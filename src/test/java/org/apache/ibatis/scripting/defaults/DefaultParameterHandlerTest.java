@@ -21,12 +21,14 @@ import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.lang.reflect.Proxy;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.mapping.*;
@@ -70,6 +72,82 @@ class DefaultParameterHandlerTest {
 
   }
 
+  @Test
+  void shouldBindBeanPropertiesWithCachedBinder() throws SQLException {
+    final Configuration config = new Configuration();
+    RawSqlSource sqlSource = new RawSqlSource(config, "insert #{id} #{name} #{name,mode=OUT}", Row.class);
+    final MappedStatement mappedStatement = new MappedStatement.Builder(config, "testInsert", sqlSource, SqlCommandType.INSERT).build();
+
+    Map<Integer, Object> values = new HashMap<>();
+    PreparedStatement ps = recordingStatement(values);
+    Row one = new Row(1, "one");
+    BoundSql boundSql = mappedStatement.getBoundSql(one);
+    new DefaultParameterHandler(mappedStatement, one, boundSql).setParameters(ps);
+    Assertions.assertEquals(1, values.get(1));
+    Assertions.assertEquals("one", values.get(2));
+    Assertions.assertFalse(values.containsKey(3));
+
+    Row two = new Row(2, "two");
+    new DefaultParameterHandler(mappedStatement, two, mappedStatement.getBoundSql(two)).setParameters(ps);
+    Assertions.assertEquals(2, values.get(1));
+    Assertions.assertEquals("two", values.get(2));
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    Assertions.assertNotNull(sqlSource.getParameterBinder(parameterMappings, Row.class));
+    Assertions.assertSame(sqlSource.getParameterBinder(parameterMappings, Row.class),
+        sqlSource.getParameterBinder(parameterMappings, Row.class));
+    Assertions.assertNull(sqlSource.getParameterBinder(new ArrayList<>(parameterMappings), Row.class));
+  }
+
+  @Test
+  void shouldBindAdditionalSimpleAndNullParameters() throws SQLException {
+    final MappedStatement mappedStatement = getMappedStatement();
+    final Configuration config = mappedStatement.getConfiguration();
+    List<ParameterMapping> parameterMappings = new ArrayList<>();
+    parameterMappings.add(new ParameterMapping.Builder(config, "id", Integer.class).build());
+    parameterMappings.add(new ParameterMapping.Builder(config, "item", String.class).build());
+
+    Map<Integer, Object> values = new HashMap<>();
+    PreparedStatement ps = recordingStatement(values);
+    BoundSql boundSql = new BoundSql(config, "sql", parameterMappings, 7);
+    boundSql.setAdditionalParameter("item", "additional");
+    new DefaultParameterHandler(mappedStatement, 7, boundSql).setParameters(ps);
+    Assertions.assertEquals(7, values.get(1));
+    Assertions.assertEquals("additional", values.get(2));
+
+    new DefaultParameterHandler(mappedStatement, null, new BoundSql(config, "sql", parameterMappings, null)).setParameters(ps);
+    Assertions.assertEquals(config.getJdbcTypeForNull().TYPE_CODE, values.get(1));
+    Assertions.assertEquals(config.getJdbcTypeForNull().TYPE_CODE, values.get(2));
+  }
+
+  private PreparedStatement recordingStatement(Map<Integer, Object> values) {
+    return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class },
+        (proxy, method, args) -> {
+          if (method.getName().startsWith("set")) {
+            // setNull records the sql type
+            values.put((Integer) args[0], args[1]);
+          }
+          return null;
+        });
+  }
+
+  public static class Row {
+    private final Integer id;
+    private final String name;
+
+    Row(Integer id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+
+    public Integer getId() {
+      return id;
+    }
+
+    public String getName() {
+      return name;
+    }
+  }
+
   MappedStatement getMappedStatement() {
     final Configuration config = new Configuration();
     final TypeHandlerRegistry registry = config.getTypeHandlerRegistry();
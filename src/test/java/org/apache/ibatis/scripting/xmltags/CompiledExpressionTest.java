@@ -0,0 +1,129 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import ognl.Ognl;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.reflection.DefaultReflectorFactory;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class CompiledExpressionTest {
+
+  private static final String[] EXPRESSIONS = {
+      "username != null and username != ''",
+      "username == 'cbegin'",
+      "id > 0 and id <= 10",
+      "id < 0 or id >= 1",
+      "not (id == 1)",
+      "!bio.isEmpty()",
+      "bio.trim().length() == 3",
+      "favouriteSection == null",
+      "tags != null and tags.size() > 1",
+      "tags.isEmpty() or tags.size() gt 5",
+      "_parameter != null",
+      "username and email",
+      "id"
+  };
+
+  @Test
+  void shouldEvaluateLikeOgnl() throws Exception {
+    Author author = new Author(1, "cbegin", "******", "cbegin@apache.org", "N/A", null);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("username", "cbegin");
+    parameter.put("id", 1L);
+    parameter.put("bio", " a ");
+    List<String> tags = new ArrayList<>();
+    tags.add("one");
+    tags.add("two");
+    parameter.put("tags", tags);
+    Configuration configuration = new Configuration();
+    Object[] roots = { new DynamicContext(configuration, author).getBindings(), new DynamicContext(configuration, parameter).getBindings(), parameter };
+    for (Object root : roots) {
+      for (String expression : EXPRESSIONS) {
+        if (root == roots[0] && expression.contains("tags")) {
+          continue;
+        }
+        Object node = Ognl.parseExpression(expression);
+        CompiledExpression compiled = CompiledExpression.compile(node);
+        assertNotNull(compiled, expression);
+        Object expected = Ognl.getValue(node, Ognl.createDefaultContext(root, new OgnlMemberAccess(), new OgnlClassResolver(), null), root);
+        assertEquals(expected, compiled.getValue(root), expression);
+      }
+    }
+  }
+
+  @Test
+  void shouldNotCompileUnsupportedExpressions() throws Exception {
+    assertNull(CompiledExpression.compile(Ognl.parseExpression("@java.lang.Math@max(id, 1) > 0")));
+    assertNull(CompiledExpression.compile(Ognl.parseExpression("tags[0] == 'one'")));
+    assertNull(CompiledExpression.compile(Ognl.parseExpression("username.startsWith('c')")));
+    assertNull(CompiledExpression.compile(Ognl.parseExpression("id + 1 > 0")));
+  }
+
+  @Test
+  void shouldLeaveNullPathsToOgnl() throws Exception {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("author", null);
+    Object root = new DynamicContext(new Configuration(), parameter).getBindings();
+    CompiledExpression compiled = CompiledExpression.compile(Ognl.parseExpression("author.username != null"));
+    assertSame(CompiledExpression.UNSUPPORTED, compiled.getValue(root));
+    assertThrows(BuilderException.class, () -> OgnlCache.getValue("author.username != null", root));
+  }
+
+  @Test
+  void shouldReadPropertiesThroughReflectorFactoryOfConfiguration() throws Exception {
+    List<Class<?>> types = new ArrayList<>();
+    Configuration configuration = new Configuration();
+    configuration.setReflectorFactory(new DefaultReflectorFactory() {
+      @Override
+      public Reflector findForClass(Class<?> type) {
+        types.add(type);
+        return super.findForClass(type);
+      }
+    });
+    Author author = new Author(1, "cbegin", "******", "cbegin@apache.org", "N/A", null);
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("author", author);
+    CompiledExpression compiled = CompiledExpression.compile(Ognl.parseExpression("author.username == 'cbegin'"));
+    assertEquals(Boolean.TRUE, compiled.getValue(new DynamicContext(configuration, parameter).getBindings()));
+    assertTrue(types.contains(Author.class));
+  }
+
+  @Test
+  void shouldLeaveBeansWithoutConfigurationToOgnl() throws Exception {
+    Author author = new Author(1, "cbegin", "******", "cbegin@apache.org", "N/A", null);
+    CompiledExpression compiled = CompiledExpression.compile(Ognl.parseExpression("username == 'cbegin'"));
+    assertSame(CompiledExpression.UNSUPPORTED, compiled.getValue(author));
+    assertEquals(Boolean.TRUE, OgnlCache.getValue("username == 'cbegin'", author));
+  }
+
+}
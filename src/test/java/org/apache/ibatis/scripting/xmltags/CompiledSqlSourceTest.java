@@ -0,0 +1,220 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.LanguageDriver;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class CompiledSqlSourceTest {
+
+  @Test
+  void shouldRenderLikeDynamicSqlSource() {
+    Configuration configuration = new Configuration();
+    List<SqlNode> statements = Arrays.asList(
+        mixedContents(
+            new StaticTextSqlNode("SELECT * FROM AUTHOR"),
+            new WhereSqlNode(configuration, mixedContents(
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("AND username = #{username}")), "username != null"),
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("\n OR id = #{id, jdbcType=INTEGER}")), "id > 0"),
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("and bio like #{bio} ")), "bio != null")))),
+        mixedContents(
+            new StaticTextSqlNode("UPDATE AUTHOR"),
+            new SetSqlNode(configuration, mixedContents(
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("username = #{username},")), "username != null"),
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("bio = #{bio},")), "bio != null"))),
+            new StaticTextSqlNode("WHERE id = #{id}")),
+        mixedContents(
+            new StaticTextSqlNode("SELECT * FROM AUTHOR WHERE"),
+            new ChooseSqlNode(Arrays.asList(
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("username = #{username}")), "username != null"),
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("email = #{email}")), "email != null")),
+                mixedContents(new StaticTextSqlNode("id = #{id}")))),
+        mixedContents(
+            new StaticTextSqlNode("SELECT * FROM AUTHOR"),
+            new TrimSqlNode(configuration, mixedContents(
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("and username = #{username}")), "username != null"),
+                new IfSqlNode(mixedContents(new StaticTextSqlNode("or email = #{email}")), "email != null")),
+                "WHERE (", "AND |OR ", ")", null),
+            new VarDeclSqlNode("pattern", "'%' + orderBy + '%'"),
+            new TextSqlNode("ORDER BY ${orderBy} LIMIT #{pattern}")),
+        mixedContents(
+            new StaticTextSqlNode("SELECT * FROM AUTHOR WHERE"),
+            new ForEachSqlNode(configuration, mixedContents(
+                new StaticTextSqlNode("(id = #{author.id} AND"),
+                new ForEachSqlNode(configuration, mixedContents(
+                    new IfSqlNode(mixedContents(new StaticTextSqlNode("#{tag} = #{ author.username } AND #{j} <> #{i}")), "tag != null")),
+                    "tags", "j", "tag", "(", ")", " OR "),
+                new StaticTextSqlNode(")")), "authors", "i", "author", "", "", " OR ")),
+        mixedContents(
+            new StaticTextSqlNode("SELECT * FROM AUTHOR WHERE id IN"),
+            new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("#{value}")), "byKey", "key", "value", "(", ")", ",")));
+
+    for (SqlNode statement : statements) {
+      assertRendersLikeDynamicSqlSource(configuration, statement, parameter("cbegin", 101, null));
+      assertRendersLikeDynamicSqlSource(configuration, statement, parameter(null, 0, "bio"));
+      assertRendersLikeDynamicSqlSource(configuration, statement, parameter("jim", 0, "bio"));
+    }
+    SqlNode where = statements.get(0);
+    assertRendersLikeDynamicSqlSource(configuration, where, new Author(101, "cbegin", "******", "cbegin@apache.org", null, Section.NEWS));
+    assertRendersLikeDynamicSqlSource(configuration, where, null);
+  }
+
+  @Test
+  void shouldRenderWithShrunkWhitespaces() {
+    Configuration configuration = new Configuration();
+    configuration.setShrinkWhitespacesInSql(true);
+    SqlNode statement = mixedContents(
+        new StaticTextSqlNode("SELECT *\n  FROM AUTHOR  "),
+        new WhereSqlNode(configuration, mixedContents(
+            new IfSqlNode(mixedContents(new StaticTextSqlNode("\n  AND  username = #{username}\n")), "username != null"),
+            new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode(" #{tag} ")), "tags", null, "tag", "AND tag IN (", ")", " , "))));
+
+    assertRendersLikeDynamicSqlSource(configuration, statement, parameter("cbegin", 101, null));
+  }
+
+  @Test
+  void shouldBindPositionalForEachLikeDynamicSqlSource() {
+    Configuration configuration = new Configuration();
+    configuration.setForeachPositionalBindingEnabled(true);
+    configuration.setForeachInListPaddingEnabled(true);
+    SqlNode statement = mixedContents(
+        new StaticTextSqlNode("SELECT * FROM AUTHOR WHERE username IN"),
+        new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode(" #{tag, jdbcType=VARCHAR} ")), "tags", null, "tag", "(", ")", ","));
+
+    BoundSql boundSql = assertRendersLikeDynamicSqlSource(configuration, statement, parameter("cbegin", 101, null));
+    assertEquals("SELECT * FROM AUTHOR WHERE username IN (?,?,?,?)", boundSql.getSql());
+    assertEquals("__frch_tag_0[2]", boundSql.getParameterMappings().get(3).getProperty());
+  }
+
+  @Test
+  void shouldReuseParameterMappingsWhileTypesStayTheSame() {
+    Configuration configuration = new Configuration();
+    CompiledSqlSource source = CompiledSqlSource.compile(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM AUTHOR WHERE id = #{id} AND username IN"),
+        new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("#{tag}")), "tags", null, "tag", "(", ")", ",")));
+
+    BoundSql first = source.getBoundSql(parameter("cbegin", 101, null));
+    BoundSql second = source.getBoundSql(parameter("jim", 102, null));
+    assertSame(first.getParameterMappings().get(0), second.getParameterMappings().get(0));
+    assertEquals("__frch_tag_2", second.getParameterMappings().get(3).getProperty());
+    assertEquals(String.class, second.getParameterMappings().get(3).getJavaType());
+
+    Map<String, Object> other = parameter("jim", 102, null);
+    other.put("tags", Arrays.asList(1, 2));
+    BoundSql third = source.getBoundSql(other);
+    assertEquals(Integer.class, third.getParameterMappings().get(2).getJavaType());
+    assertEquals(2, third.getAdditionalParameter("__frch_tag_1"));
+  }
+
+  @Test
+  void shouldParsePlaceholdersOfSubstitutedValues() {
+    Configuration configuration = new Configuration();
+    SqlNode statement = mixedContents(
+        new StaticTextSqlNode("SELECT * FROM AUTHOR WHERE"),
+        new ForEachSqlNode(configuration, mixedContents(new TextSqlNode("${condition}")), "tags", null, "tag", "", "", " OR "));
+
+    Map<String, Object> parameter = parameter("cbegin", 101, null);
+    parameter.put("condition", "username = #{tag}");
+    BoundSql boundSql = assertRendersLikeDynamicSqlSource(configuration, statement, parameter);
+    assertEquals("__frch_tag_1", boundSql.getParameterMappings().get(1).getProperty());
+  }
+
+  @Test
+  void shouldNotCompileCustomSqlNodes() {
+    Configuration configuration = new Configuration();
+    assertNull(CompiledSqlSource.compile(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM AUTHOR"), context -> true)));
+    assertNull(CompiledSqlSource.compile(configuration, mixedContents(
+        new StaticTextSqlNode("SELECT * FROM AUTHOR WHERE id = #"),
+        new IfSqlNode(mixedContents(new StaticTextSqlNode("{id}")), "id != null"))));
+  }
+
+  @Test
+  void shouldCompileDynamicScripts() throws Exception {
+    Configuration configuration = new Configuration();
+    LanguageDriver driver = (LanguageDriver) configuration.getTypeAliasRegistry().resolveAlias("compiled_xml").newInstance();
+    SqlSource dynamic = driver.createSqlSource(configuration,
+        "<script>SELECT * FROM AUTHOR <where><if test='username != null'>username = #{username}</if></where></script>", Map.class);
+    SqlSource text = driver.createSqlSource(configuration, "SELECT * FROM ${table} WHERE id = #{id}", Map.class);
+    SqlSource raw = driver.createSqlSource(configuration, "SELECT * FROM AUTHOR WHERE id = #{id}", Map.class);
+
+    assertTrue(((DynamicSqlSource) dynamic).isCompiled());
+    assertTrue(((DynamicSqlSource) text).isCompiled());
+    assertTrue(!(raw instanceof DynamicSqlSource));
+    assertEquals("SELECT * FROM AUTHOR  WHERE username = ?", dynamic.getBoundSql(parameter("cbegin", 101, null)).getSql());
+  }
+
+  private static BoundSql assertRendersLikeDynamicSqlSource(Configuration configuration, SqlNode statement, Object parameter) {
+    BoundSql expected = new DynamicSqlSource(configuration, statement).getBoundSql(parameter);
+    CompiledSqlSource source = CompiledSqlSource.compile(configuration, statement);
+    assertNotNull(source);
+    BoundSql actual = source.getBoundSql(parameter);
+    assertEquals(expected.getSql(), actual.getSql());
+    assertEquals(describe(expected), describe(actual));
+    return actual;
+  }
+
+  private static List<String> describe(BoundSql boundSql) {
+    List<String> parameters = new ArrayList<>();
+    for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+      String property = mapping.getProperty();
+      Object value = boundSql.hasAdditionalParameter(property) ? boundSql.getAdditionalParameter(property) : null;
+      parameters.add(property + ":" + mapping.getJavaType() + ":" + mapping.getJdbcType() + ":"
+          + mapping.getTypeHandler().getClass() + "=" + value);
+    }
+    return parameters;
+  }
+
+  private static Map<String, Object> parameter(String username, int id, String bio) {
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("username", username);
+    parameter.put("id", id);
+    parameter.put("bio", bio);
+    parameter.put("email", null);
+    parameter.put("orderBy", "id");
+    parameter.put("tags", Arrays.asList("a", null, "c"));
+    parameter.put("authors", Arrays.asList(new Author(1, "one", null, null, null, null), new Author(2, "two", null, null, null, null)));
+    Map<String, Object> byKey = new LinkedHashMap<>();
+    byKey.put("x", 1);
+    byKey.put("y", 2);
+    parameter.put("byKey", byKey);
+    return parameter;
+  }
+
+  private static MixedSqlNode mixedContents(SqlNode... contents) {
+    return new MixedSqlNode(Arrays.asList(contents));
+  }
+
+}
@@ -0,0 +1,78 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class OgnlExpressionCacheTest {
+
+  @Test
+  void shouldCountHitsAndParses() {
+    OgnlExpressionCache cache = new OgnlExpressionCache();
+    Map<String, Object> root = new HashMap<>();
+    root.put("id", 1);
+    assertEquals(Boolean.TRUE, cache.getValue("id == 1", root));
+    assertEquals(Boolean.TRUE, cache.getValue("id == 1", root));
+    assertEquals(Boolean.FALSE, cache.getValue("id == 2", root));
+    assertEquals(Boolean.TRUE, cache.getValue("id == 1", root));
+    assertEquals(2, cache.getParseCount());
+    assertEquals(2, cache.getHitCount());
+    assertEquals(0.5, cache.getHitRatio());
+    assertEquals(2, cache.size());
+  }
+
+  @Test
+  void shouldEvictWhenFull() {
+    OgnlExpressionCache cache = new OgnlExpressionCache(2);
+    Map<String, Object> root = new HashMap<>();
+    root.put("id", 1);
+    cache.getValue("id == 1", root);
+    cache.getValue("id == 2", root);
+    cache.getValue("id == 1", root);
+    cache.getValue("id == 3", root);
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+    // the expression used since it was cached is kept
+    cache.getValue("id == 1", root);
+    assertEquals(3, cache.getParseCount());
+  }
+
+  @Test
+  void shouldRejectInvalidSize() {
+    assertThrows(IllegalArgumentException.class, () -> new OgnlExpressionCache(0));
+  }
+
+  @Test
+  void shouldUseCacheOfConfiguration() {
+    Configuration first = new Configuration();
+    Configuration second = new Configuration();
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("name", "a");
+    OgnlCache.getValue("name != null", new DynamicContext(first, parameter).getBindings());
+    OgnlCache.getValue("name != null", new DynamicContext(first, parameter).getBindings());
+    assertEquals(1, first.getOgnlExpressionCache().getParseCount());
+    assertEquals(1, first.getOgnlExpressionCache().getHitCount());
+    assertEquals(0, second.getOgnlExpressionCache().size());
+  }
+
+}
@@ -0,0 +1,121 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.adaptive_fetch_size;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.FetchSizeStatistics;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveFetchSizeTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+  private static final List<Integer> fetchSizes = new ArrayList<>();
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/adaptive_fetch_size/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    sqlSessionFactory.getConfiguration().addInterceptor(new FetchSizeInterceptor());
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+            "org/apache/ibatis/submitted/adaptive_fetch_size/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void clearFetchSizes() {
+    fetchSizes.clear();
+  }
+
+  @Test
+  void shouldAdaptFetchSizeToRowCount() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.getUsers(20);
+      sqlSession.clearCache();
+      mapper.getUsers(20);
+      sqlSession.clearCache();
+      mapper.getUsers(1);
+      // the first execution uses defaultFetchSize, later ones the observed row count plus one
+      assertEquals(3, fetchSizes.get(0).intValue());
+      assertEquals(21, fetchSizes.get(1).intValue());
+      assertEquals(21, fetchSizes.get(2).intValue());
+
+      FetchSizeStatistics statistics = sqlSessionFactory.getConfiguration()
+          .getMappedStatement(Mapper.class.getName() + ".getUsers").getFetchSizeStatistics();
+      assertEquals(3, statistics.getExecutions());
+      assertEquals(41, statistics.getTotalRows());
+      assertEquals(20, statistics.getMaxRows());
+      assertEquals(2, statistics.getColumnCount());
+      assertEquals(21, statistics.getLastFetchSize());
+    }
+  }
+
+  @Test
+  void shouldKeepStatementFetchSize() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.getUsersWithFetchSize();
+      sqlSession.clearCache();
+      mapper.getUsersWithFetchSize();
+      assertEquals(7, fetchSizes.get(0).intValue());
+      assertEquals(7, fetchSizes.get(1).intValue());
+    }
+  }
+
+  @Test
+  void shouldNotRecordUpdates() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.touchUsers();
+      assertEquals(0, sqlSessionFactory.getConfiguration()
+          .getMappedStatement(Mapper.class.getName() + ".touchUsers").getFetchSizeStatistics().getExecutions());
+      sqlSession.rollback();
+    }
+  }
+
+  @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+  public static class FetchSizeInterceptor implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      Statement statement = (Statement) invocation.proceed();
+      fetchSizes.add(statement.getFetchSize());
+      return statement;
+    }
+  }
+
+}
@@ -0,0 +1,130 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.columnar_result;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.Arrays;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.result.ColumnarResult;
+import org.apache.ibatis.executor.result.ColumnarResult.ColumnType;
+import org.apache.ibatis.executor.result.ColumnarResultHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ColumnarResultTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/columnar_result/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+            "org/apache/ibatis/submitted/columnar_result/CreateDB.sql");
+  }
+
+  @Test
+  void shouldReturnColumnarResultForResultType() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      ColumnarResult result = mapper.getMeasurements();
+      assertEquals(4, result.getRowCount());
+      assertEquals(5, result.getColumnCount());
+
+      int id = result.getColumnIndex("id");
+      assertEquals(ColumnType.INT, result.getColumnType(id));
+      assertArrayEquals(new int[] { 1, 2, 3, 4 }, result.getIntColumn(id));
+
+      int reading = result.getColumnIndex("reading");
+      assertEquals(ColumnType.DOUBLE, result.getColumnType(reading));
+      assertEquals(2.5, result.getDouble(reading, 1));
+      assertTrue(result.isNull(reading, 2));
+      assertNull(result.getObject(reading, 2));
+
+      int total = result.getColumnIndex("total");
+      assertEquals(ColumnType.LONG, result.getColumnType(total));
+      assertEquals(30000000000L, result.getLong(total, 2));
+      assertTrue(result.isNull(total, 3));
+
+      int sensor = result.getColumnIndex("sensor");
+      assertEquals(ColumnType.STRING, result.getColumnType(sensor));
+      assertEquals(Arrays.asList("north", "south"), result.getDictionary(sensor));
+      assertArrayEquals(new int[] { 0, 1, 0, -1 }, result.getStringCodes(sensor));
+      assertEquals("north", result.getString(sensor, 2));
+      assertNull(result.getString(sensor, 3));
+
+      int measuredOn = result.getColumnIndex("measured_on");
+      assertEquals(ColumnType.OBJECT, result.getColumnType(measuredOn));
+      assertFalse(result.isNull(measuredOn, 0));
+      assertTrue(result.isNull(measuredOn, 2));
+    }
+  }
+
+  @Test
+  void shouldFillColumnarResultHandlerWithRowBounds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      ColumnarResultHandler handler = new ColumnarResultHandler();
+      sqlSession.select("org.apache.ibatis.submitted.columnar_result.Mapper.getSensors", null, new RowBounds(1, 2), handler);
+      ColumnarResult result = handler.getResult();
+      assertEquals(2, result.getRowCount());
+      assertArrayEquals(new int[] { 2, 3 }, result.getIntColumn(0));
+      assertEquals("south", result.getString(1, 0));
+    }
+  }
+
+  @Test
+  void shouldGrowBeyondOneChunk() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      ColumnarResult result = mapper.getSequence();
+      assertEquals(10000, result.getRowCount());
+      int[] values = result.getIntColumn(0);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(i + 1, values[i]);
+      }
+    }
+  }
+
+  @Test
+  void shouldRejectIncompatibleColumnAccess() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      ColumnarResult result = mapper.getMeasurements();
+      assertThrows(PersistenceException.class, () -> result.getInt(result.getColumnIndex("sensor"), 0));
+      assertThrows(PersistenceException.class, () -> result.getColumnIndex("unknown"));
+      assertThrows(IndexOutOfBoundsException.class, () -> result.getInt(0, 4));
+    }
+  }
+
+}
@@ -0,0 +1,31 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       http://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+
+drop table measurements if exists;
+
+create table measurements (
+  id int,
+  sensor varchar(20),
+  reading double,
+  total bigint,
+  measured_on date
+);
+
+insert into measurements (id, sensor, reading, total, measured_on) values(1, 'north', 1.5, 10000000000, '2026-01-01');
+insert into measurements (id, sensor, reading, total, measured_on) values(2, 'south', 2.5, 20000000000, '2026-01-02');
+insert into measurements (id, sensor, reading, total, measured_on) values(3, 'north', null, 30000000000, null);
+insert into measurements (id, sensor, reading, total, measured_on) values(4, null, 4.5, null, '2026-01-04');
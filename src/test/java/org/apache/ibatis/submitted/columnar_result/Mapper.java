@@ -0,0 +1,35 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.columnar_result;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.executor.result.ColumnarResult;
+
+public interface Mapper {
+
+  @Select("select id, sensor, reading, total, measured_on from measurements order by id")
+  ColumnarResult getMeasurements();
+
+  @Select("select id, sensor from measurements order by id")
+  List<Map<String, Object>> getSensors();
+
+  @Select("select n from unnest(sequence_array(1, 10000, 1)) as t(n)")
+  ColumnarResult getSequence();
+
+}
@@ -0,0 +1,130 @@
+/**
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compact_map_results;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.resultset.CompactRowMap;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompactMapResultsTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    // create an SqlSessionFactory
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/compact_map_results/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    // populate in-memory database
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+            "org/apache/ibatis/submitted/compact_map_results/CreateDB.sql");
+  }
+
+  @Test
+  void shouldReturnCompactRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<Map<String, Object>> users = mapper.getUsers();
+      assertEquals(2, users.size());
+      Map<String, Object> first = users.get(0);
+      assertTrue(first instanceof CompactRowMap);
+      assertEquals(1, first.get("ID"));
+      assertEquals("User1", first.get("NAME"));
+      assertEquals("one", first.get("NICKNAME"));
+      assertEquals(3, first.size());
+
+      Map<String, Object> expected = new HashMap<>();
+      expected.put("ID", 2);
+      expected.put("NAME", "User2");
+      // nulls are not put unless callSettersOnNulls is enabled, same as HashMap rows
+      assertEquals(expected, users.get(1));
+      assertFalse(users.get(1).containsKey("NICKNAME"));
+      assertEquals(expected.hashCode(), users.get(1).hashCode());
+    }
+  }
+
+  @Test
+  void shouldModifyRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<Map<String, Object>> users = mapper.getUsers();
+      Map<String, Object> first = users.get(0);
+      Map<String, Object> second = users.get(1);
+
+      assertEquals("User1", first.put("NAME", "changed"));
+      assertEquals("one", first.remove("NICKNAME"));
+      first.put("EXTRA", "added");
+      assertEquals("changed", first.get("NAME"));
+      assertNull(first.get("NICKNAME"));
+      assertEquals("added", first.get("EXTRA"));
+      assertEquals(3, first.size());
+
+      assertNull(second.put("NICKNAME", "two"));
+      assertEquals("two", second.get("NICKNAME"));
+      assertFalse(second.containsKey("EXTRA"));
+      assertEquals("User2", second.get("NAME"));
+    }
+  }
+
+  @Test
+  void shouldSerializeAsRegularMap() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Map<String, Object> first = mapper.getUsers().get(0);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(first);
+      }
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+        assertEquals(first, in.readObject());
+      }
+    }
+  }
+
+  @Test
+  void shouldFallBackToNestedMapsForPropertyPaths() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Map<String, Object> first = mapper.getNestedUsers().get(0);
+      assertFalse(first instanceof CompactRowMap);
+      @SuppressWarnings("unchecked")
+      Map<String, Object> user = (Map<String, Object>) first.get("user");
+      assertEquals("User1", user.get("name"));
+    }
+  }
+
+}
@@ -16,7 +16,9 @@
 package org.apache.ibatis.type;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -81,4 +83,27 @@ class IntegerTypeHandlerTest extends BaseTypeHandlerTest {
     assertNull(TYPE_HANDLER.getResult(cs, 1));
   }
 
+  @Test
+  void shouldGetPrimitiveResultFromResultSetByName() throws Exception {
+    PrimitiveTypeHandler.OfInt handler = new IntegerTypeHandler();
+    assertEquals(int.class, handler.getPrimitiveType());
+    when(rs.getInt("column")).thenReturn(100);
+    assertEquals(100, handler.getIntResult(rs, "column"));
+  }
+
+  @Test
+  void shouldNotReadPrimitivesInSubclasses() {
+    assertNull(new IntegerTypeHandler() {
+    }.getPrimitiveType());
+    assertFalse(PrimitiveTypeHandler.canRead(new IntegerTypeHandler() {
+    }, int.class));
+  }
+
+  @Test
+  void shouldOnlyReadItsOwnPrimitiveType() {
+    assertTrue(PrimitiveTypeHandler.canRead(TYPE_HANDLER, int.class));
+    assertFalse(PrimitiveTypeHandler.canRead(TYPE_HANDLER, long.class));
+    assertFalse(PrimitiveTypeHandler.canRead(new StringTypeHandler(), int.class));
+  }
+
 }
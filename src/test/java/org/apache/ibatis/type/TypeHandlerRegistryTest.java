@@ -22,8 +22,10 @@ import java.sql.CallableStatement;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -154,6 +156,14 @@ class TypeHandlerRegistryTest {
     assertEquals(DateTypeHandler.class, typeHandlerRegistry.getTypeHandler(MyDate2.class).getClass());
   }
 
+  @Test
+  void shouldBindCollectionsAndArraysAsSqlArrays() {
+    assertEquals(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(ArrayList.class, JdbcType.ARRAY).getClass());
+    assertEquals(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(Set.class, JdbcType.ARRAY).getClass());
+    assertEquals(ArrayTypeHandler.class, typeHandlerRegistry.getTypeHandler(Integer[].class, JdbcType.ARRAY).getClass());
+    assertNull(typeHandlerRegistry.getTypeHandler(ArrayList.class, JdbcType.VARCHAR));
+  }
+
   interface SomeInterface {
   }
 